@@ -0,0 +1,111 @@
+package com.skillshare.skill_platform.benchmark;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.lang.reflect.Proxy;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Just enough of MongoTemplate for the engagement paths in PostServiceImpl: posts are
+ * counter documents keyed by id, filtered by _id plus optional {$gt: n} guards and
+ * updated with $inc and $currentDate. Any other update operator fails loudly instead of
+ * silently measuring nothing.
+ */
+class InMemoryMongoTemplate extends MongoTemplate {
+
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+
+    InMemoryMongoTemplate() {
+        super(unconnectedFactory());
+    }
+
+    void put(String id, Document document) {
+        documents.put(id, document);
+    }
+
+    @Override
+    public <T> T findOne(Query query, Class<T> entityClass, String collectionName) {
+        Document document = match(query.getQueryObject());
+        return document == null ? null : entityClass.cast(project(query, document));
+    }
+
+    @Override
+    public <T> T findAndModify(Query query, UpdateDefinition update, FindAndModifyOptions options,
+                               Class<T> entityClass, String collectionName) {
+        Document filter = query.getQueryObject();
+        String id = String.valueOf(filter.get("_id"));
+        Document[] result = new Document[1];
+        documents.computeIfPresent(id, (key, document) -> {
+            if (!guardsPass(filter, document)) {
+                return document;
+            }
+            Document before = new Document(document);
+            apply(update.getUpdateObject(), document);
+            result[0] = options.isReturnNew() ? new Document(document) : before;
+            return document;
+        });
+        return result[0] == null ? null : entityClass.cast(project(query, result[0]));
+    }
+
+    private static void apply(Document update, Document document) {
+        for (Map.Entry<String, Object> operator : update.entrySet()) {
+            Document fields = (Document) operator.getValue();
+            switch (operator.getKey()) {
+                case "$inc" -> fields.forEach((field, delta) -> document.put(field,
+                        ((Number) document.getOrDefault(field, 0L)).longValue() + ((Number) delta).longValue()));
+                case "$currentDate" -> fields.keySet().forEach(field -> document.put(field, new Date()));
+                default -> throw new UnsupportedOperationException("Update operator not supported in benchmarks: "
+                        + operator.getKey());
+            }
+        }
+    }
+
+    private Document match(Document filter) {
+        Document document = documents.get(String.valueOf(filter.get("_id")));
+        return document != null && guardsPass(filter, document) ? document : null;
+    }
+
+    private static boolean guardsPass(Document filter, Document document) {
+        for (Map.Entry<String, Object> condition : filter.entrySet()) {
+            if (condition.getValue() instanceof Document operators && operators.containsKey("$gt")) {
+                long actual = ((Number) document.getOrDefault(condition.getKey(), 0L)).longValue();
+                if (actual <= ((Number) operators.get("$gt")).longValue()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Projected fields are read back by name, as $ifNull(field, 0) does in Mongo
+    private static Document project(Query query, Document document) {
+        Document fields = query.getFieldsObject();
+        if (fields.isEmpty()) {
+            return new Document(document);
+        }
+        Document projected = new Document("_id", document.get("_id"));
+        for (String field : fields.keySet()) {
+            projected.put(field, document.getOrDefault(field, 0L));
+        }
+        return projected;
+    }
+
+    private static MongoDatabaseFactory unconnectedFactory() {
+        MongoExceptionTranslator translator = new MongoExceptionTranslator();
+        return (MongoDatabaseFactory) Proxy.newProxyInstance(MongoDatabaseFactory.class.getClassLoader(),
+                new Class<?>[]{MongoDatabaseFactory.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getExceptionTranslator")) {
+                        return translator;
+                    }
+                    throw new UnsupportedOperationException("No database in benchmarks: " + method.getName());
+                });
+    }
+}
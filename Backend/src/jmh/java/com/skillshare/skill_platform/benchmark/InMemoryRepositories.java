@@ -0,0 +1,103 @@
+package com.skillshare.skill_platform.benchmark;
+
+import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.Like;
+import com.skillshare.skill_platform.entity.SavedPost;
+import com.skillshare.skill_platform.repository.LearningPlanRepository;
+import com.skillshare.skill_platform.repository.LikeRepository;
+import com.skillshare.skill_platform.repository.SavedPostRepository;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Map-backed stand-ins for the Spring Data repositories the benchmarks touch. Only the
+ * methods the measured code calls are implemented; the unique (post, user) indexes are
+ * modelled by the map key, so duplicates fail the way Mongo makes them fail.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static LikeRepository likes() {
+        Map<String, Like> likes = new ConcurrentHashMap<>();
+        return repository(LikeRepository.class, Map.of(
+                "insert", args -> {
+                    Like like = (Like) args[0];
+                    if (likes.putIfAbsent(key(like.getPostId(), like.getUserId()), like) != null) {
+                        throw new DuplicateKeyException("likes.post_user_unique");
+                    }
+                    return like;
+                },
+                "delete", args -> {
+                    Like like = (Like) args[0];
+                    likes.remove(key(like.getPostId(), like.getUserId()));
+                    return null;
+                },
+                "deleteByPostIdAndUserId", args -> likes.remove(key(args[0], args[1])) != null ? 1L : 0L,
+                "findByUserIdAndPostIdIn", args -> ((Collection<?>) args[1]).stream()
+                        .map(postId -> likes.get(key(postId, args[0])))
+                        .filter(like -> like != null)
+                        .collect(Collectors.toList())));
+    }
+
+    static SavedPostRepository savedPosts() {
+        Map<String, SavedPost> saves = new ConcurrentHashMap<>();
+        return repository(SavedPostRepository.class, Map.of(
+                "insert", args -> {
+                    SavedPost save = (SavedPost) args[0];
+                    if (saves.putIfAbsent(key(save.getPostId(), save.getUserId()), save) != null) {
+                        throw new DuplicateKeyException("saved_posts.user_post_unique");
+                    }
+                    return save;
+                },
+                "delete", args -> {
+                    SavedPost save = (SavedPost) args[0];
+                    saves.remove(key(save.getPostId(), save.getUserId()));
+                    return null;
+                },
+                "deleteByUserIdAndPostId", args -> saves.remove(key(args[1], args[0])) != null ? 1L : 0L));
+    }
+
+    static LearningPlanRepository learningPlans(List<LearningPlan> plans) {
+        Map<String, LearningPlan> byId = plans.stream()
+                .collect(Collectors.toMap(LearningPlan::getId, Function.identity()));
+        Map<String, List<LearningPlan>> byUser = plans.stream()
+                .collect(Collectors.groupingBy(LearningPlan::getUserId));
+        return repository(LearningPlanRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(byId.get(args[0])),
+                "findByUserId", args -> byUser.getOrDefault(args[0], List.of())));
+    }
+
+    private static String key(Object postId, Object userId) {
+        return postId + "\u0000" + userId;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Function<Object[], Object> implementation = methods.get(method.getName());
+            if (implementation != null) {
+                return implementation.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> "InMemory" + type.getSimpleName();
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
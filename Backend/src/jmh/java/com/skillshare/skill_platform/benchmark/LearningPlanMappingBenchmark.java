@@ -0,0 +1,104 @@
+package com.skillshare.skill_platform.benchmark;
+
+import com.skillshare.skill_platform.dto.LearningPlanResponse;
+import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.Topic;
+import com.skillshare.skill_platform.entity.TopicProgress;
+import com.skillshare.skill_platform.entity.TopicStatus;
+import com.skillshare.skill_platform.service.SuggestService;
+import com.skillshare.skill_platform.service.Impl.LearningPlanServiceImpl;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-response mapping in LearningPlanServiceImpl: one plan (getPlan) and all of a
+ * user's plans (getById), served from an in-memory repository so only the mapping and
+ * list building are measured.
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="LearningPlanMappingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LearningPlanMappingBenchmark {
+
+    private static final String USER_ID = "user-1";
+
+    @Param({"10"})
+    public int plansPerUser;
+
+    @Param({"10", "200"})
+    public int topicsPerPlan;
+
+    private LearningPlanServiceImpl learningPlanService;
+    private String planId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<LearningPlan> plans = new ArrayList<>();
+        for (int p = 0; p < plansPerUser; p++) {
+            plans.add(plan(p));
+        }
+        planId = plans.get(0).getId();
+
+        // Mapping never reaches Mongo or the suggestion index
+        SuggestService suggestService = (SuggestService) Proxy.newProxyInstance(
+                SuggestService.class.getClassLoader(), new Class<?>[]{SuggestService.class},
+                (proxy, method, args) -> null);
+        learningPlanService = new LearningPlanServiceImpl(InMemoryRepositories.learningPlans(plans),
+                new InMemoryMongoTemplate(), suggestService);
+    }
+
+    @Benchmark
+    public LearningPlanResponse getPlan() {
+        return learningPlanService.getPlan(planId);
+    }
+
+    @Benchmark
+    public List<LearningPlanResponse> getUserPlans() {
+        return learningPlanService.getById(USER_ID);
+    }
+
+    private LearningPlan plan(int index) {
+        List<Topic> topics = new ArrayList<>();
+        TopicStatus[] statuses = TopicStatus.values();
+        for (int t = 0; t < topicsPerPlan; t++) {
+            Topic topic = new Topic();
+            topic.setName("Topic " + t + " of plan " + index);
+            topic.setStatus(statuses[t % statuses.length]);
+            topics.add(topic);
+        }
+
+        LearningPlan plan = new LearningPlan();
+        plan.setId(new ObjectId().toHexString());
+        plan.setUserId(USER_ID);
+        plan.setLearningPlanName("Plan " + index);
+        plan.setLearningPlanDescription("A step-by-step plan with " + topicsPerPlan + " topics");
+        plan.setStream("Software Engineering");
+        plan.setCreatedAt(LocalDateTime.now().minusDays(index));
+        plan.setUpdatedAt(LocalDateTime.now());
+        plan.setTopics(topics);
+        plan.setProgress(TopicProgress.of(topics));
+        return plan;
+    }
+}
@@ -0,0 +1,106 @@
+package com.skillshare.skill_platform.benchmark;
+
+import com.skillshare.skill_platform.service.Impl.LikeCountAggregatorImpl;
+import com.skillshare.skill_platform.service.Impl.PostServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Like, unlike, save and unsave through PostServiceImpl, with the repositories and
+ * MongoTemplate replaced by in-memory fakes. What is left is the service's own cost:
+ * building documents and queries, the duplicate-key protocol, the like write-behind
+ * buffer, metrics and response maps.
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="PostEngagementBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostEngagementBenchmark {
+
+    private static final int POSTS = 100;
+    private static final int USERS = 10_000;
+
+    // false: every like is an $inc on the post; true: likes go through the write-behind buffer
+    @Param({"false", "true"})
+    public boolean likeWriteBehind;
+
+    private PostServiceImpl postService;
+    private String[] postIds;
+    private String[] userIds;
+    private String likedPostId;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryMongoTemplate mongoTemplate = new InMemoryMongoTemplate();
+        postIds = new String[POSTS];
+        for (int i = 0; i < POSTS; i++) {
+            ObjectId id = new ObjectId();
+            postIds[i] = id.toHexString();
+            mongoTemplate.put(postIds[i], new Document("_id", id).append("likeCount", 0L).append("saveCount", 0L));
+        }
+        likedPostId = new ObjectId().toHexString();
+        mongoTemplate.put(likedPostId, new Document("_id", new ObjectId(likedPostId)).append("likeCount", 0L));
+        userIds = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = "user-" + i;
+        }
+
+        postService = new PostServiceImpl();
+        ReflectionTestUtils.setField(postService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(postService, "likeRepository", InMemoryRepositories.likes());
+        ReflectionTestUtils.setField(postService, "savedPostRepository", InMemoryRepositories.savedPosts());
+        ReflectionTestUtils.setField(postService, "likeCountAggregator",
+                new LikeCountAggregatorImpl(mongoTemplate, likeWriteBehind, Integer.MAX_VALUE));
+        ReflectionTestUtils.setField(postService, "meterRegistry", new SimpleMeterRegistry());
+
+        postService.likePost(likedPostId, userIds[0]);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map> likeThenUnlike() {
+        long n = sequence.getAndIncrement();
+        String postId = postIds[(int) (n % POSTS)];
+        String userId = userIds[(int) (n % USERS)];
+        postService.likePost(postId, userId);
+        return postService.unlikePost(postId, userId);
+    }
+
+    // A repeated like: the unique index rejects the insert and only the count is read
+    @Benchmark
+    public ResponseEntity<Map> likeAlreadyLiked() {
+        return postService.likePost(likedPostId, userIds[0]);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map> saveThenUnsave() {
+        long n = sequence.getAndIncrement();
+        String postId = postIds[(int) (n % POSTS)];
+        String userId = userIds[(int) (n % USERS)];
+        postService.savePost(postId, userId);
+        return postService.unsavePost(postId, userId);
+    }
+}
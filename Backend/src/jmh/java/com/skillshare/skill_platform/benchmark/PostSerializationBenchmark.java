@@ -0,0 +1,151 @@
+package com.skillshare.skill_platform.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.skillshare.skill_platform.config.JacksonConfig;
+import com.skillshare.skill_platform.dto.PostSummary;
+import com.skillshare.skill_platform.entity.MediaStatus;
+import com.skillshare.skill_platform.entity.Post;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a page of posts the way the post endpoints do, with an ObjectMapper set up
+ * like Spring Boot's. The legacy benchmark keeps the old document shape, where likes,
+ * saves and comments were arrays embedded in the post, as a baseline for what the
+ * counters replaced.
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="PostSerializationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostSerializationBenchmark {
+
+    // Posts per page, and entries per embedded array in the legacy shape
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"100", "10000"})
+    public int embeddedEntries;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter sparseWriter;
+    private List<Post> posts;
+    private List<PostSummary> summaries;
+    private List<Map<String, Object>> legacyPosts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(JacksonConfig.allFields())
+                .build();
+        sparseWriter = objectMapper.writer(JacksonConfig.postFields(Set.of("description", "likeCount")));
+
+        posts = new ArrayList<>();
+        summaries = new ArrayList<>();
+        legacyPosts = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Post post = post(i);
+            posts.add(post);
+            summaries.add(PostSummary.builder()
+                    .id(post.getId())
+                    .userId(post.getUserId())
+                    .description(post.getDescription())
+                    .url(post.getUrl())
+                    .mediaStatus(post.getMediaStatus())
+                    .date(post.getDate())
+                    .likeCount(post.getLikeCount())
+                    .commentCount(post.getCommentCount())
+                    .saveCount(post.getSaveCount())
+                    .likedByViewer(i % 2 == 0)
+                    .build());
+            legacyPosts.add(legacyPost(post));
+        }
+    }
+
+    @Benchmark
+    public byte[] postEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(posts);
+    }
+
+    @Benchmark
+    public byte[] postSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    // ?fields=description,likeCount
+    @Benchmark
+    public byte[] postSummariesSparse() throws JsonProcessingException {
+        return sparseWriter.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] legacyPostsWithEmbeddedArrays() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(legacyPosts);
+    }
+
+    private Post post(int i) {
+        Post post = new Post();
+        post.setId(new ObjectId().toHexString());
+        post.setUserId("user-" + i);
+        post.setDescription("Post " + i + ": notes from this week's practice session, with a short video of the result");
+        post.setUrl("https://res.cloudinary.com/demo/video/upload/v1/posts/" + post.getId() + ".mp4");
+        post.setMediaStatus(MediaStatus.READY);
+        post.setLikeCount(embeddedEntries);
+        post.setCommentCount(embeddedEntries / 10);
+        post.setSaveCount(embeddedEntries / 20);
+        post.setDate(new Date());
+        post.setUpdatedAt(post.getDate());
+        return post;
+    }
+
+    private Map<String, Object> legacyPost(Post post) {
+        List<String> likedBy = new ArrayList<>();
+        for (int i = 0; i < embeddedEntries; i++) {
+            likedBy.add("user-" + i);
+        }
+        List<Map<String, Object>> comments = new ArrayList<>();
+        for (int i = 0; i < embeddedEntries / 10; i++) {
+            comments.add(Map.of("id", "comment-" + i, "userId", "user-" + i, "content", "Nice work!",
+                    "createdAt", post.getDate()));
+        }
+
+        Map<String, Object> legacy = new LinkedHashMap<>();
+        legacy.put("id", post.getId());
+        legacy.put("userId", post.getUserId());
+        legacy.put("description", post.getDescription());
+        legacy.put("url", post.getUrl());
+        legacy.put("date", post.getDate());
+        legacy.put("likes", likedBy);
+        legacy.put("savedByUsers", likedBy.subList(0, embeddedEntries / 20));
+        legacy.put("comments", comments);
+        return legacy;
+    }
+}
@@ -2,8 +2,12 @@ package com.skillshare.skill_platform;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableMongoAuditing
 public class SkillPlatformApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,44 @@
+package com.skillshare.skill_platform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Background executors: fixed platform pools with bounded queues that carry the caller's
+ * logging MDC over to the task.
+ */
+@Configuration
+public class AsyncConfig {
+
+    // Bounded so slow Cloudinary uploads queue up here instead of holding request threads
+    @Bean(name = "mediaUploadExecutor")
+    public TaskExecutor mediaUploadExecutor(
+            @Value("${app.media.upload.threads:4}") int threads,
+            @Value("${app.media.upload.queue-capacity:100}") int queueCapacity) {
+        return platformExecutor("media-upload-", threads, queueCapacity);
+    }
+
+    // Runs the independent lookups that hydrate one feed page in parallel
+    @Bean(name = "feedFanOutExecutor")
+    public TaskExecutor feedFanOutExecutor(
+            @Value("${app.feed.fan-out.threads:16}") int threads,
+            @Value("${app.feed.fan-out.queue-capacity:200}") int queueCapacity) {
+        return platformExecutor("feed-fan-out-", threads, queueCapacity);
+    }
+
+    static TaskExecutor platformExecutor(String threadNamePrefix, int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,15 @@
+package com.skillshare.skill_platform.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process near cache backed by Caffeine. Sizes and TTL come from spring.cache.caffeine.spec;
+ * hit/miss/eviction statistics are recorded and published as cache.* metrics through Actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_PROFILES = "userProfiles";
+}
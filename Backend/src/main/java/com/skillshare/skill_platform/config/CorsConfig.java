@@ -1,5 +1,7 @@
 package com.skillshare.skill_platform.config;
 
+import com.skillshare.skill_platform.dto.CursorPage;
+import com.skillshare.skill_platform.service.IdempotencyService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -24,6 +26,12 @@ public class CorsConfig {
         // Allow all headers
         config.addAllowedHeader("*");
         
+        // Let browsers read the pagination cursor header
+        config.addExposedHeader(CursorPage.NEXT_CURSOR_HEADER);
+        config.addExposedHeader("ETag");
+        config.addExposedHeader(IdempotencyService.REPLAYED_HEADER);
+        config.addExposedHeader(RequestIdFilter.HEADER);
+        
         // Allow credentials (cookies, authorization headers, etc.)
         config.setAllowCredentials(true);
         
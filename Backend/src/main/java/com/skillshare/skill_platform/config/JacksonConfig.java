@@ -0,0 +1,34 @@
+package com.skillshare.skill_platform.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.skillshare.skill_platform.dto.PostSummary;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Configuration
+public class JacksonConfig {
+
+    // Responses that do not pick fields serialize filtered types in full
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer defaultPropertyFilters() {
+        return builder -> builder.filters(allFields());
+    }
+
+    public static SimpleFilterProvider allFields() {
+        return new SimpleFilterProvider()
+                .addFilter(PostSummary.FILTER, SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    /** Filters for a ?fields= request: only the named post fields, plus the id. */
+    public static SimpleFilterProvider postFields(Set<String> fields) {
+        Set<String> included = new HashSet<>(fields);
+        included.add("id");
+        return new SimpleFilterProvider()
+                .addFilter(PostSummary.FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(included));
+    }
+}
@@ -0,0 +1,90 @@
+package com.skillshare.skill_platform.config;
+
+import com.skillshare.skill_platform.dto.PageCursor;
+import com.skillshare.skill_platform.exception.BadRequestException;
+import com.skillshare.skill_platform.migration.LearningPlanCollectionMigration;
+import com.skillshare.skill_platform.migration.LearningProgressMigration;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Keeps the learning plan endpoints answering while plans are still being copied out of the
+ * "users" collection: before a request is handled, the plans it reads or writes are copied
+ * on demand. Writes are only turned away (503 with Retry-After) during the few moments the
+ * progress recount rebuilds the user totals, which would otherwise overwrite their updates.
+ */
+@Component
+public class LearningPlanMigrationInterceptor implements HandlerInterceptor {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+    private static final String WRITE_ENTERED = LearningPlanMigrationInterceptor.class.getName() + ".writeEntered";
+
+    private final ObjectProvider<LearningPlanCollectionMigration> migration;
+    private final ObjectProvider<LearningProgressMigration> recount;
+
+    public LearningPlanMigrationInterceptor(ObjectProvider<LearningPlanCollectionMigration> migration,
+                                            ObjectProvider<LearningProgressMigration> recount) {
+        this.migration = migration;
+        this.recount = recount;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // No migration bean when it is disabled, and nothing to wait for
+        LearningPlanCollectionMigration pending = migration.getIfAvailable();
+        if (pending != null && !pending.isCopied()) {
+            copyAhead(pending, request);
+        }
+
+        LearningProgressMigration pendingRecount = recount.getIfAvailable();
+        if (pendingRecount == null || HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        if (pendingRecount.tryEnterWrite()) {
+            request.setAttribute(WRITE_ENTERED, Boolean.TRUE);
+            return true;
+        }
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Learning plan progress is being recounted");
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(WRITE_ENTERED) != null) {
+            request.removeAttribute(WRITE_ENTERED);
+            recount.getObject().exitWrite();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void copyAhead(LearningPlanCollectionMigration pending, HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables != null && variables.containsKey("user-id")) {
+            pending.copyPlansOf(variables.get("user-id"));
+        } else if (variables != null && variables.containsKey("learning-plan-id")) {
+            pending.copyPlan(variables.get("learning-plan-id"));
+        } else {
+            // GET /learning-plans: a bad limit or cursor is left for the controller to reject
+            try {
+                String limit = request.getParameter("limit");
+                int pageSize = PageCursor.pageSize(limit == null ? null : Integer.valueOf(limit));
+                pending.copyNewest(request.getParameter("stream"),
+                        PageCursor.decode(request.getParameter("after")), pageSize + 1);
+            } catch (BadRequestException | NumberFormatException e) {
+                // Nothing to copy for a request that fails anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.skillshare.skill_platform.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Service-level timings. Classes annotated with @Timed record every public method under
+ * one timer name, tagged with class and method; HTTP, Mongo command and pool metrics
+ * come from Spring Boot's auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "skillshare.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.skillshare.skill_platform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfig {
+
+    /**
+     * Every Mongo operation holds one pooled connection, so the pool size is the bound on
+     * concurrent operations; callers beyond the bound wait up to maxWait and then fail
+     * instead of queueing without limit.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${app.mongo.max-concurrent-operations:100}") int maxConcurrentOperations,
+            @Value("${app.mongo.max-wait-ms:2000}") long maxWaitMs) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxConcurrentOperations)
+                .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+}
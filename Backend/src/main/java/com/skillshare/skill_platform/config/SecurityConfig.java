@@ -33,6 +33,10 @@ public class SecurityConfig {
                     "/api/posts",
                     "/api/posts/**"
                 ).permitAll()  // Allow public access to post endpoints
+                .requestMatchers("/api/feed").permitAll()  // Composite feed page
+                .requestMatchers("/api/search").permitAll()  // Full-text search
+                .requestMatchers("/api/suggest").permitAll()  // Type-ahead suggestions
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()  // Probes and metrics scraping
                 // Comment endpoints
                 .requestMatchers(
                     "/api/comments/**",
@@ -0,0 +1,31 @@
+package com.skillshare.skill_platform.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects oversized upload requests from their Content-Length header alone.
+ * Multipart parsing is lazy, so this runs before any part is spooled to disk.
+ */
+@Component
+public class UploadSizeInterceptor implements HandlerInterceptor {
+
+    @Value("${spring.servlet.multipart.max-request-size:100MB}")
+    private DataSize maxRequestSize;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxRequestSize.toBytes()) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                    "Upload exceeds " + maxRequestSize.toMegabytes() + "MB");
+            return false;
+        }
+        return true;
+    }
+}
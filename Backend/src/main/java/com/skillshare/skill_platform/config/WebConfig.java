@@ -0,0 +1,25 @@
+package com.skillshare.skill_platform.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final UploadSizeInterceptor uploadSizeInterceptor;
+    private final LearningPlanMigrationInterceptor learningPlanMigrationInterceptor;
+
+    public WebConfig(UploadSizeInterceptor uploadSizeInterceptor,
+                     LearningPlanMigrationInterceptor learningPlanMigrationInterceptor) {
+        this.uploadSizeInterceptor = uploadSizeInterceptor;
+        this.learningPlanMigrationInterceptor = learningPlanMigrationInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(uploadSizeInterceptor).addPathPatterns("/api/posts/**");
+        registry.addInterceptor(learningPlanMigrationInterceptor)
+                .addPathPatterns("/learning-plans/**", "/users/*/learning-plans/**", "/users/*/learning-progress");
+    }
+}
@@ -1,14 +1,18 @@
 package com.skillshare.skill_platform.controller;
 
 import com.skillshare.skill_platform.dto.CommentRequest;
+import com.skillshare.skill_platform.dto.CursorPage;
 import com.skillshare.skill_platform.entity.Comment;
 import com.skillshare.skill_platform.service.CommentService;
+import com.skillshare.skill_platform.service.IdempotencyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:3000")
@@ -18,16 +22,29 @@ public class CommentController {
     @Autowired
     private CommentService commentService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    // A retry with the same Idempotency-Key returns the comment created by the first attempt
     @PostMapping("/{postId}")
-    public ResponseEntity<Comment> createComment(@PathVariable(value = "postId") String postId, @RequestBody CommentRequest commentRequest) {
-        Comment comment = commentService.createComment(postId, commentRequest);
-        return ResponseEntity.ok(comment);
+    public CompletableFuture<ResponseEntity<?>> createComment(@PathVariable(value = "postId") String postId, @RequestBody CommentRequest commentRequest,
+            @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey) {
+        List<Object> requestParts = Arrays.asList(postId, commentRequest.getUserId(), commentRequest.getContent());
+        return idempotencyService.execute("comment-create", commentRequest.getUserId(), idempotencyKey, requestParts,
+                () -> ResponseEntity.ok(commentService.createComment(postId, commentRequest)));
     }
 
+    // The body stays a plain array for existing clients; the cursor for the next page travels in a header
     @GetMapping("/{postId}")
-    public ResponseEntity<List<Comment>> getAllCommentsByPostId(@PathVariable String postId) {
-        List<Comment> comments = commentService.getAllCommentsByPostId(postId);
-        return new ResponseEntity<>(comments, HttpStatus.OK);
+    public ResponseEntity<List<Comment>> getAllCommentsByPostId(@PathVariable String postId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        CursorPage<Comment> page = commentService.getCommentsByPostId(postId, limit, after);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     @PutMapping("/{commentId}/{userId}")
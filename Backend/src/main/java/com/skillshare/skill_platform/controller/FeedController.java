@@ -0,0 +1,35 @@
+package com.skillshare.skill_platform.controller;
+
+import com.skillshare.skill_platform.dto.CursorPage;
+import com.skillshare.skill_platform.dto.FeedItem;
+import com.skillshare.skill_platform.dto.FeedSnapshot;
+import com.skillshare.skill_platform.service.FeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    @Autowired
+    private FeedService feedService;
+
+    // One call renders a feed page: posts, authors, comment counts and previews, viewer state
+    @GetMapping
+    public ResponseEntity<CursorPage<FeedItem>> getFeed(
+            @RequestParam(value = "viewerId", required = false) String viewerId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after,
+            WebRequest request) {
+        // Checked against a version read without hydrating the page; a stale page is built from the same rows
+        FeedSnapshot snapshot = feedService.getFeedVersion(viewerId, limit, after);
+        if (request.checkNotModified(ETags.of(snapshot.getVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok(feedService.getFeedPage(snapshot));
+    }
+
+}
@@ -1,19 +1,31 @@
 package com.skillshare.skill_platform.controller;
 
+import com.skillshare.skill_platform.dto.CursorPage;
 import com.skillshare.skill_platform.dto.LearningPlanRQ;
 import com.skillshare.skill_platform.dto.LearningPlanResponse;
+import com.skillshare.skill_platform.dto.LearningPlanSummary;
+import com.skillshare.skill_platform.dto.LearningProgressResponse;
+import com.skillshare.skill_platform.dto.TopicRq;
 import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.Topic;
 import com.skillshare.skill_platform.exception.ResourceNotFoundException;
 import com.skillshare.skill_platform.service.LearningPlanService;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @AllArgsConstructor
@@ -27,17 +39,52 @@ public class LearningPlanController {
     return learningPlanService.create(rq, userId);
   }
 
+  // Summaries only; the body stays a plain array and the next cursor travels in a header
   @GetMapping("/learning-plans")
-  public List<LearningPlanResponse> list() {
-    return learningPlanService.getAll();
+  public ResponseEntity<List<LearningPlanSummary>> list(
+      @RequestParam(value = "stream", required = false) String stream,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam(value = "after", required = false) String after,
+      WebRequest request) {
+    CursorPage<LearningPlanSummary> page = learningPlanService.getPage(stream, limit, after);
+    if (request.checkNotModified(etag(page))) {
+      return null;
+    }
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.getNextCursor() != null) {
+      response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return response.body(page.getItems());
+  }
+
+  @GetMapping("/learning-plans/{learning-plan-id}")
+  public LearningPlanResponse get(@PathVariable("learning-plan-id") String learningPlanId,
+      WebRequest request) throws ResourceNotFoundException {
+    LocalDateTime lastModified = learningPlanService.getPlanLastModified(learningPlanId);
+    if (lastModified != null && request.checkNotModified(ETags.of(learningPlanId, lastModified),
+        lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())) {
+      return null;
+    }
+    return learningPlanService.getPlan(learningPlanId);
   }
 
   @GetMapping("/users/{user-id}/learning-plans")
-  public List<LearningPlanResponse> getById(@PathVariable("user-id") String userId)
-      throws ResourceNotFoundException {
+  public List<LearningPlanResponse> getById(@PathVariable("user-id") String userId,
+      WebRequest request) throws ResourceNotFoundException {
+    if (request.checkNotModified(ETags.of(learningPlanService.getUserPlansVersion(userId)))) {
+      return null;
+    }
     return learningPlanService.getById(userId);
   }
 
+  // Dashboard counts come from maintained counters; no topic lists are loaded
+  @GetMapping("/users/{user-id}/learning-progress")
+  public LearningProgressResponse progress(@PathVariable("user-id") String userId,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam(value = "after", required = false) String after) {
+    return learningPlanService.getProgress(userId, limit, after);
+  }
+
   @PutMapping("/users/{user-id}/learning-plans/{learning-plan-id}")
   public LearningPlan update(@PathVariable("user-id") String userId,
       @PathVariable("learning-plan-id") String learningPlanId,
@@ -45,9 +92,27 @@ public class LearningPlanController {
     return learningPlanService.updateById(userId, rq, learningPlanId);
   }
 
+  @PatchMapping("/users/{user-id}/learning-plans/{learning-plan-id}/topics/{topic-index}")
+  public Topic updateTopic(@PathVariable("user-id") String userId,
+      @PathVariable("learning-plan-id") String learningPlanId,
+      @PathVariable("topic-index") int topicIndex,
+      @RequestBody TopicRq rq) throws ResourceNotFoundException {
+    return learningPlanService.updateTopic(userId, learningPlanId, topicIndex, rq);
+  }
+
   @DeleteMapping("/users/{user-id}/learning-plans/{learning-plan-id}")
   public void deleteById(@PathVariable("user-id") String userId,
       @PathVariable("learning-plan-id") String learningPlanId) throws ResourceNotFoundException {
     learningPlanService.delete(userId, learningPlanId);
   }
+
+  private String etag(CursorPage<LearningPlanSummary> page) {
+    List<Object> parts = new ArrayList<>();
+    parts.add(page.getNextCursor());
+    for (LearningPlanSummary plan : page.getItems()) {
+      parts.add(plan.getId());
+      parts.add(plan.getUpdatedAt() != null ? plan.getUpdatedAt() : plan.getCreatedAt());
+    }
+    return ETags.of(parts.toArray());
+  }
 }
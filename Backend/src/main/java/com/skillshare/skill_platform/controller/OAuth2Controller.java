@@ -1,5 +1,6 @@
 package com.skillshare.skill_platform.controller;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/oauth2")
 public class OAuth2Controller {
@@ -34,12 +36,10 @@ public class OAuth2Controller {
         String frontendRedirectUrl = authorizedRedirectUris[0]; // Use the first authorized redirect URI
         
 
-        System.out.println("OAuth2 success endpoint called!");
-        System.out.println("OAuth2 success! User: " + (oauth2User != null ? oauth2User.getName() : "null"));
         if (oauth2User != null) {
-            System.out.println("User attributes: " + oauth2User.getAttributes());
+            log.info("OAuth2 success userId={}", oauth2User.getName());
         } else {
-            System.out.println("Warning: oauth2User is null");
+            log.warn("OAuth2 success endpoint called without an authenticated user");
         }
         
         try {
@@ -48,12 +48,10 @@ public class OAuth2Controller {
 
             frontendRedirectUrl += "?token=" + token;
         } catch (Exception e) {
-            System.err.println("Error generating token: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error generating token", e);
             frontendRedirectUrl += "?error=Authentication failed: " + e.getMessage();
         }
         
-        System.out.println("Redirecting to: " + frontendRedirectUrl);
         return new RedirectView(frontendRedirectUrl);
     }
 
@@ -61,17 +59,16 @@ public class OAuth2Controller {
     public RedirectView error(@RequestParam(required = false) String error) {
         String frontendRedirectUrl = authorizedRedirectUris[0] + "?error=" + 
             (error != null ? error : "Authentication failed");
-        System.out.println("OAuth error endpoint called. Redirecting to: " + frontendRedirectUrl);
+        log.warn("OAuth2 error endpoint called: {}", error);
         return new RedirectView(frontendRedirectUrl);
     }
 
     @GetMapping("/user")
     public Map<String, Object> getUser(@AuthenticationPrincipal OAuth2User oauth2User) {
         if (oauth2User == null) {
-            System.out.println("User endpoint called but oauth2User is null");
+            log.debug("User endpoint called without an authenticated user");
             return new HashMap<>();
         }
-        System.out.println("User endpoint called for: " + oauth2User.getName());
         return oauth2User.getAttributes();
     }
     
@@ -79,7 +76,6 @@ public class OAuth2Controller {
     public ResponseEntity<Map<String, String>> exchangeToken(@RequestParam("code") String code) {
         Map<String, String> response = new HashMap<>();
         
-        System.out.println("Token endpoint called with code: " + code);
         
 
         String token = codeToTokenMap.get(code);
@@ -89,7 +85,6 @@ public class OAuth2Controller {
         }
         
         response.put("token", token);
-        System.out.println("Returning token: " + token);
         return ResponseEntity.ok(response);
     }
     
@@ -1,14 +1,30 @@
 package com.skillshare.skill_platform.controller;
 
+import com.skillshare.skill_platform.config.JacksonConfig;
+import com.skillshare.skill_platform.dto.CursorPage;
 import com.skillshare.skill_platform.dto.PostRequest;
+import com.skillshare.skill_platform.dto.PostSummary;
+import com.skillshare.skill_platform.exception.BadRequestException;
+import com.skillshare.skill_platform.service.IdempotencyService;
 import com.skillshare.skill_platform.service.PostService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
+@Slf4j
 @RestController
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 @RequestMapping("/api/posts")
@@ -16,37 +32,68 @@ public class PostController {
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    // A retry with the same Idempotency-Key gets the first response back instead of a second post
     @PostMapping(value = "/upload", consumes = {"multipart/form-data"})
-    public ResponseEntity<Map> upload(
+    public CompletableFuture<ResponseEntity<?>> upload(
             @RequestParam("userId") String userId,
             @RequestParam("description") String description,
-            @RequestParam(value = "file", required = false) MultipartFile file) {
-        try {
-            PostRequest postRequest = new PostRequest();
-            postRequest.setUserId(userId);
-            postRequest.setDescription(description);
-            postRequest.setFile(file);
-            
-            System.out.println("Received post upload request: userId=" + userId + 
-                               ", description=" + description + 
-                               ", file=" + (file != null ? file.getOriginalFilename() : "none"));
-            
-            return postService.createPost(postRequest);
-        } catch (Exception e) {
-            e.printStackTrace();
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "async", required = false) Boolean async,
+            @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey) {
+        PostRequest postRequest = new PostRequest();
+        postRequest.setUserId(userId);
+        postRequest.setDescription(description);
+        postRequest.setFile(file);
+        postRequest.setAsync(async);
+        
+        log.debug("Received post upload request userId={} file={}", userId,
+                file != null ? file.getOriginalFilename() : "none");
+        
+        // Key conflicts and misuse surface as 409/400 through GlobalExceptionHandler
+        List<Object> requestParts = Arrays.asList(userId, description, async,
+                file != null ? file.getOriginalFilename() : null,
+                file != null ? file.getSize() : null,
+                file != null ? file.getContentType() : null);
+        return idempotencyService.execute("post-upload", userId, idempotencyKey, requestParts,
+                () -> postService.createPost(postRequest));
+    }
+
+    // ?fields=description,likeCount returns only those post fields (and the id)
+    @GetMapping("/{postId}")
+    public ResponseEntity<MappingJacksonValue> getPost(@PathVariable String postId,
+            @RequestParam(value = "viewerId", required = false) String viewerId,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        // fields is part of the URL; the version covers the post and, with a viewerId, the viewer's state
+        if (request.checkNotModified(ETags.of(postService.getPostVersion(postId, viewerId)))) {
             return null;
         }
+        PostSummary post = postService.getPostSummary(postId, viewerId);
+        return ResponseEntity.ok(withFields(Map.of("post", post), fields));
     }
 
-    @GetMapping("/{postId}")
-    public ResponseEntity<Map> getPost(@PathVariable String postId) {
-        return postService.getPost(postId);
+    @GetMapping("/{postId}/media-status")
+    public ResponseEntity<Map> getMediaStatus(@PathVariable String postId) {
+        return postService.getMediaStatus(postId);
     }
 
     @GetMapping
-    public ResponseEntity<Map> getAllPosts() {
-        System.out.println("Fetching all posts");
-        return postService.getAllPosts();
+    public ResponseEntity<MappingJacksonValue> getAllPosts(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "viewerId", required = false) String viewerId,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("Fetching posts page limit={} after={}", limit, after);
+        CursorPage<PostSummary> page = postService.getPostSummaries(limit, after, viewerId);
+        Map<String, Object> body = new HashMap<>();
+        body.put("posts", page.getItems());
+        if (page.getNextCursor() != null) {
+            body.put("nextCursor", page.getNextCursor());
+        }
+        return ResponseEntity.ok(withFields(body, fields));
     }
 
     @PutMapping(value = "/{postId}", consumes = {"multipart/form-data"})
@@ -61,7 +108,6 @@ public class PostController {
         postRequest.setDescription(description);
         postRequest.setFile(file);
         
-        System.out.println("Updating post: " + postId);
         return postService.updatePost(postId, postRequest);
     }
 
@@ -82,13 +128,30 @@ public class PostController {
     
     @PostMapping("/{postId}/save")
     public ResponseEntity<Map> savePost(@PathVariable String postId, @RequestParam String userId) {
-        System.out.println("Saving post: " + postId + " for user: " + userId);
         return postService.savePost(postId, userId);
     }
     
     @DeleteMapping("/{postId}/save")
     public ResponseEntity<Map> unsavePost(@PathVariable String postId, @RequestParam String userId) {
-        System.out.println("Unsaving post: " + postId + " for user: " + userId);
         return postService.unsavePost(postId, userId);
     }
+
+    private MappingJacksonValue withFields(Object body, String fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields == null || fields.isBlank()) {
+            value.setFilters(JacksonConfig.allFields());
+            return value;
+        }
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+        Set<String> unknown = new TreeSet<>(requested);
+        unknown.removeAll(PostSummary.FIELDS);
+        if (!unknown.isEmpty()) {
+            throw new BadRequestException("Unknown post fields: " + String.join(", ", unknown));
+        }
+        value.setFilters(JacksonConfig.postFields(requested));
+        return value;
+    }
 } 
\ No newline at end of file
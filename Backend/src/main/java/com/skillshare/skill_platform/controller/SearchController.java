@@ -0,0 +1,26 @@
+package com.skillshare.skill_platform.controller;
+
+import com.skillshare.skill_platform.dto.SearchResults;
+import com.skillshare.skill_platform.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    // type is "posts", "plans" or omitted for both; results are ranked by text score
+    @GetMapping
+    public ResponseEntity<SearchResults> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(searchService.search(query, type, page, size));
+    }
+}
@@ -0,0 +1,27 @@
+package com.skillshare.skill_platform.controller;
+
+import com.skillshare.skill_platform.dto.Suggestion;
+import com.skillshare.skill_platform.service.SuggestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
+@RequestMapping("/api/suggest")
+public class SuggestController {
+
+    @Autowired
+    private SuggestService suggestService;
+
+    // type is "users", "streams" or "topics"; answered from memory, most popular first
+    @GetMapping
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam("type") String type,
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(suggestService.suggest(type, prefix, limit));
+    }
+}
@@ -4,10 +4,16 @@ package com.skillshare.skill_platform.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.skillshare.skill_platform.dto.CursorPage;
+import com.skillshare.skill_platform.dto.PostSummary;
 import com.skillshare.skill_platform.dto.UserProfileDTO;
+import com.skillshare.skill_platform.service.PostService;
 import com.skillshare.skill_platform.service.UserService;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
@@ -15,6 +21,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PostService postService;
+
     @PostMapping("/{userId}/profile")
     public ResponseEntity<UserProfileDTO> createOrUpdateProfile(@PathVariable String userId, @RequestBody UserProfileDTO profileDTO) {
         UserProfileDTO result = userService.createOrUpdateProfile(userId, profileDTO);
@@ -22,8 +31,13 @@ public class UserController {
     }
 
     @GetMapping("/{userId}/profile")
-    public ResponseEntity<UserProfileDTO> getProfile(@PathVariable String userId) {
+    public ResponseEntity<UserProfileDTO> getProfile(@PathVariable String userId, WebRequest request) {
+        // Served from the profile cache, so a 304 costs no database read at all
         UserProfileDTO profile = userService.getProfile(userId);
+        if (profile.getUpdatedAt() != null && request.checkNotModified(
+                ETags.of(profile.getId(), profile.getUpdatedAt().getTime()), profile.getUpdatedAt().getTime())) {
+            return null;
+        }
         return ResponseEntity.ok(profile);
     }
 
@@ -33,6 +47,22 @@ public class UserController {
         return ResponseEntity.ok(result);
     }
 
+    // Newest first, with the author's total post count for the profile header
+    @GetMapping("/{userId}/posts")
+    public ResponseEntity<Map> getPostsByUser(@PathVariable String userId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        return postService.getPostsByUser(userId, limit, after);
+    }
+
+    // Most recently saved first; the next page's cursor is in the body
+    @GetMapping("/{userId}/saved")
+    public ResponseEntity<CursorPage<PostSummary>> getSavedPosts(@PathVariable String userId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        return ResponseEntity.ok(postService.getSavedPosts(userId, limit, after));
+    }
+
     @DeleteMapping("/{userId}/profile")
     public ResponseEntity<Void> deleteProfile(@PathVariable String userId) {
         return ResponseEntity.noContent().build();
@@ -0,0 +1,16 @@
+package com.skillshare.skill_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorSummary {
+    private String userId;
+    private String fullName;
+    private String profilePictureUrl;
+}
@@ -0,0 +1,18 @@
+package com.skillshare.skill_platform.dto;
+
+import com.skillshare.skill_platform.entity.Comment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedItem {
+    // Counters and the viewer's like/save state are part of the summary
+    private PostSummary post;
+    private AuthorSummary author;
+    private Comment latestComment;
+}
@@ -0,0 +1,24 @@
+package com.skillshare.skill_platform.dto;
+
+import com.skillshare.skill_platform.entity.UserProfile;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A feed page's version together with the rows read to compute it, so a stale page is
+ * built from them rather than looked up a second time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedSnapshot {
+    private String version;
+    private CursorPage<PostVersion> posts;
+    private Map<String, UserProfile> authors;
+    private Set<String> likedByViewer;
+    private Set<String> savedByViewer;
+}
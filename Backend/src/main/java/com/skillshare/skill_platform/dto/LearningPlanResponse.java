@@ -14,6 +14,7 @@ public class LearningPlanResponse {
   private String learningPlanDescription;
   private String stream;
   private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
   private List<TopicRq> topics;
   private String userId;
 }
@@ -0,0 +1,25 @@
+package com.skillshare.skill_platform.dto;
+
+import com.skillshare.skill_platform.entity.TopicProgress;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * List view of a learning plan: the topic list is replaced by its size.
+ * Full topics are served by GET /learning-plans/{id}.
+ */
+@Data
+@NoArgsConstructor
+public class LearningPlanSummary {
+
+  private String id;
+  private String learningPlanName;
+  private String learningPlanDescription;
+  private String stream;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+  private String userId;
+  private int topicCount;
+  private TopicProgress progress;
+}
@@ -0,0 +1,17 @@
+package com.skillshare.skill_platform.dto;
+
+import com.skillshare.skill_platform.entity.TopicProgress;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class LearningProgressResponse {
+
+  private String userId;
+  private long planCount;
+  private TopicProgress totals;
+  private List<LearningPlanSummary> plans;
+  private String nextCursor;
+}
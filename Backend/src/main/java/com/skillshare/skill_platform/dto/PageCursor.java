@@ -0,0 +1,67 @@
+package com.skillshare.skill_platform.dto;
+
+import com.skillshare.skill_platform.exception.BadRequestException;
+import lombok.Value;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque keyset cursor for list endpoints ordered by (timestamp, id).
+ * Encoded as URL-safe base64 of "millis:id" so clients treat it as a token.
+ */
+@Value
+public class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    Date timestamp;
+    String id;
+
+    public static PageCursor of(Date timestamp, String id) {
+        return new PageCursor(timestamp, id);
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new BadRequestException("Invalid cursor: " + token);
+            }
+            long millis = Long.parseLong(raw.substring(0, separator));
+            return new PageCursor(new Date(millis), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+
+    public static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public String encode() {
+        String raw = timestamp.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The id as stored in Mongo. Generated ids are ObjectIds, and a String
+     * would never compare against them in a range query.
+     */
+    public Object idValue() {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
@@ -0,0 +1,11 @@
+package com.skillshare.skill_platform.dto;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+
+@Data
+public class PostCommentCount {
+    @Id
+    private String postId;
+    private long count;
+}
@@ -8,4 +8,6 @@ public class PostRequest {
     private String userId;
     private String description;
     private MultipartFile file;
+    // null means use the server default (app.media.async-upload.enabled)
+    private Boolean async;
 } 
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.skillshare.skill_platform.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.skillshare.skill_platform.entity.MediaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What post endpoints return: the post's own fields, its engagement counters and the
+ * viewer's state, never the lists behind the counters. Serialized through the
+ * {@value #FILTER} filter so callers can ask for a subset with ?fields=.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFilter(PostSummary.FILTER)
+public class PostSummary {
+
+    public static final String FILTER = "postSummary";
+
+    // Names accepted in ?fields=
+    public static final Set<String> FIELDS = Arrays.stream(PostSummary.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private String id;
+    private String userId;
+    private String description;
+    private String url;
+    private MediaStatus mediaStatus;
+    private Date date;
+    private long likeCount;
+    private long commentCount;
+    private long saveCount;
+    private boolean likedByViewer;
+    private boolean savedByViewer;
+}
@@ -0,0 +1,18 @@
+package com.skillshare.skill_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A post's version on a feed page, read without the post's content: changes whenever
+ * the post's representation can.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostVersion {
+    private String id;
+    private String userId;
+    private String version;
+}
@@ -0,0 +1,22 @@
+package com.skillshare.skill_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    private String id;
+    private String userId;
+    private String title;
+    // HTML-escaped excerpt with matched words wrapped in <mark>
+    private String snippet;
+    private List<String> matchedTopics;
+    private double score;
+}
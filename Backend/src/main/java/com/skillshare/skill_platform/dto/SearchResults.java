@@ -0,0 +1,20 @@
+package com.skillshare.skill_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResults {
+    private String query;
+    private int page;
+    private int size;
+    private List<SearchHit> posts;
+    private List<SearchHit> learningPlans;
+}
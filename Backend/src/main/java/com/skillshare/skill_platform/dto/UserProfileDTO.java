@@ -3,10 +3,14 @@ package com.skillshare.skill_platform.dto;
 
 import lombok.Data;
 
+import java.util.Date;
+
 @Data
 public class UserProfileDTO {
     private String id;
     private String userId;
     private String bio;
     private String profilePictureUrl;
+    private String fullName;
+    private Date updatedAt;
 }
\ No newline at end of file
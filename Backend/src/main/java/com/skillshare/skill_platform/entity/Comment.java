@@ -2,11 +2,13 @@ package com.skillshare.skill_platform.entity;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
 @Document(collection = "comments")
+@CompoundIndex(name = "post_created_id", def = "{'postId': 1, 'createdAt': 1, '_id': 1}")
 @Data
 public class Comment {
     @Id
@@ -0,0 +1,38 @@
+package com.skillshare.skill_platform.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * The outcome of a request sent with an Idempotency-Key. Keys expire a day after first use.
+ */
+@Document(collection = "idempotency_keys")
+@Data
+public class IdempotencyRecord {
+
+    public enum Status {
+        IN_PROGRESS, COMPLETED
+    }
+
+    // Scope, client user and key, so keys from different endpoints or users never collide
+    @Id
+    private String id;
+
+    private Status status;
+
+    // Hash of the request parameters; the same key with a different request is rejected
+    private String fingerprint;
+
+    // When the current owner started processing; a stale lock may be taken over
+    private Date lockedAt;
+
+    private int responseStatus;
+    private String responseBody;
+
+    @Indexed(name = "created_ttl", expireAfter = "24h")
+    private Date createdAt;
+}
@@ -5,18 +5,32 @@ import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-@Document(collection = "users")
+@Document(collection = "learning_plans")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_created", def = "{'userId': 1, 'createdAt': -1}"),
+    @CompoundIndex(name = "created_id_desc", def = "{'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "stream_created_id_desc", def = "{'stream': 1, 'createdAt': -1, '_id': -1}")
+})
 @Data
 public class LearningPlan {
 
   @Id
   private String id;
+  @TextIndexed(weight = 3)
   private String learningPlanName;
+  @TextIndexed
   private String learningPlanDescription;
   private String stream;
   private LocalDateTime createdAt;
+  @LastModifiedDate
+  private LocalDateTime updatedAt;
   private List<Topic> topics = new ArrayList<>();
+  private TopicProgress progress = new TopicProgress();
   private String userId;
 }
@@ -0,0 +1,19 @@
+package com.skillshare.skill_platform.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Per-user topic counts across all of the user's learning plans.
+ * Maintained incrementally by LearningPlanService, never recomputed on read.
+ */
+@Document(collection = "learning_progress")
+@Data
+public class LearningProgress {
+
+  @Id
+  private String userId;
+  private long planCount;
+  private TopicProgress totals = new TopicProgress();
+}
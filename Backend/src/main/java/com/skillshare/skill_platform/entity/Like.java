@@ -2,11 +2,13 @@ package com.skillshare.skill_platform.entity;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
 @Document(collection = "likes")
+@CompoundIndex(name = "post_user_unique", def = "{'postId': 1, 'userId': 1}", unique = true)
 @Data
 public class Like {
     @Id
@@ -15,4 +17,4 @@ public class Like {
     private String postId;
     private String userId;
     private Date createdAt;
-} 
\ No newline at end of file
+}
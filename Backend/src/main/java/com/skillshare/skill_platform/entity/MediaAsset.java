@@ -0,0 +1,29 @@
+package com.skillshare.skill_platform.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * An uploaded file in Cloudinary, keyed by the SHA-256 of its content so identical
+ * uploads share one asset. The asset is destroyed when the last post using it lets go.
+ */
+@Document(collection = "media_assets")
+@Data
+public class MediaAsset {
+    // Hex SHA-256 of the file content
+    @Id
+    private String id;
+
+    private String url;
+    private String publicId;
+    private String resourceType;
+    private long size;
+
+    // Number of posts pointing at this asset, kept by atomic $inc updates
+    private long refCount;
+
+    private Date createdAt;
+}
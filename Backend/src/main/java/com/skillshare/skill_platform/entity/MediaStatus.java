@@ -0,0 +1,5 @@
+package com.skillshare.skill_platform.entity;
+
+public enum MediaStatus {
+  NONE, PENDING, READY, FAILED
+}
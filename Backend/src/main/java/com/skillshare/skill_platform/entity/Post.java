@@ -4,13 +4,18 @@ import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 
 @Document(collection = "post")
+@CompoundIndexes({
+        @CompoundIndex(name = "date_id_desc", def = "{'date': -1, '_id': -1}"),
+        @CompoundIndex(name = "user_date_id_desc", def = "{'userId': 1, 'date': -1, '_id': -1}")
+})
 @Data
 public class Post {
     @Id
@@ -18,14 +23,26 @@ public class Post {
 
     private String userId;
 
+    @TextIndexed
     private String description;
 
     private String url;
 
-    private List<Comment> comments = new ArrayList<>();
-    private List<Like> likes = new ArrayList<>();
-    private List<String> savedByUsers = new ArrayList<>();
+    // Content hash of the media, the key into "media_assets"; null for posts from before deduplication
+    private String mediaHash;
+
+    private MediaStatus mediaStatus;
+    private String mediaError;
+
+    // Kept in step with the "likes", "comments" and "saved_posts" collections by atomic $inc updates
+    private long likeCount;
+    private long commentCount;
+    private long saveCount;
 
     @CreatedDate
     private Date date;
+
+    // Set on every write, including the $inc/$set paths that bypass save(), and used for ETags
+    @LastModifiedDate
+    private Date updatedAt;
 } 
\ No newline at end of file
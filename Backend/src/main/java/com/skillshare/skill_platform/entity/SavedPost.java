@@ -0,0 +1,24 @@
+package com.skillshare.skill_platform.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+@Document(collection = "saved_posts")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_post_unique", def = "{'userId': 1, 'postId': 1}", unique = true),
+        @CompoundIndex(name = "user_saved_at_id", def = "{'userId': 1, 'savedAt': -1, '_id': -1}")
+})
+@Data
+public class SavedPost {
+    @Id
+    private String id;
+
+    private String userId;
+    private String postId;
+    private Date savedAt;
+}
@@ -1,10 +1,12 @@
 package com.skillshare.skill_platform.entity;
 
 import lombok.Data;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 
 @Data
 public class Topic {
 
+  @TextIndexed(weight = 2)
   private String name;
   private TopicStatus status;
 }
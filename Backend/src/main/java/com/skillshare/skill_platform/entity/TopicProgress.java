@@ -0,0 +1,55 @@
+package com.skillshare.skill_platform.entity;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of topics in each status. Embedded in a plan and in a user's
+ * learning progress, and kept current with $inc updates.
+ * A topic without a status counts as pending.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicProgress {
+
+  private long pending;
+  private long inProgress;
+  private long completed;
+
+  public static TopicProgress of(List<Topic> topics) {
+    TopicProgress progress = new TopicProgress();
+    if (topics != null) {
+      for (Topic topic : topics) {
+        progress.add(topic.getStatus(), 1);
+      }
+    }
+    return progress;
+  }
+
+  public static TopicProgress transition(TopicStatus from, TopicStatus to) {
+    TopicProgress delta = new TopicProgress();
+    delta.add(from, -1);
+    delta.add(to, 1);
+    return delta;
+  }
+
+  public TopicProgress minus(TopicProgress other) {
+    return new TopicProgress(pending - other.pending, inProgress - other.inProgress,
+        completed - other.completed);
+  }
+
+  private void add(TopicStatus status, long amount) {
+    if (status == null) {
+      pending += amount;
+      return;
+    }
+    switch (status) {
+      case PENDING -> pending += amount;
+      case IN_PROGRESS -> inProgress += amount;
+      case COMPLETED -> completed += amount;
+    }
+  }
+}
@@ -3,17 +3,24 @@ package com.skillshare.skill_platform.entity;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.Date;
+
 @Document(collection = "user_profiles")
 @Data
 public class UserProfile {
     @Id
     private String id;
+    @Indexed
     private String userId;
     private String bio;
     private String profilePictureUrl;
     private String fullName;
+    @LastModifiedDate
+    private Date updatedAt;
     
 
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.skillshare.skill_platform.handler;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
@@ -14,6 +15,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.io.IOException;
 import java.util.UUID;
 
+@Slf4j
 @Component
 public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
@@ -25,8 +27,6 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
                                         Authentication authentication) throws IOException, ServletException {
         
         try {
-            System.out.println("=== OAuth2 Authentication Success Handler ===");
-            
             response.setHeader("Access-Control-Allow-Origin", "http://localhost:5173");
             response.setHeader("Access-Control-Allow-Credentials", "true");
             response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
@@ -35,35 +35,25 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
             
             String token = UUID.randomUUID().toString();
             
-            System.out.println("OAuth2 Authentication Success for user: " + authentication.getName());
-            
             Object principal = authentication.getPrincipal();
-            System.out.println("Authentication principal type: " + (principal != null ? principal.getClass().getName() : "null"));
             String userId = null;
             
             if (principal instanceof OAuth2User) {
                 OAuth2User oauth2User = (OAuth2User) principal;
-                System.out.println("OAuth2User attributes: " + oauth2User.getAttributes());
-                System.out.println("OAuth2User name: " + oauth2User.getName());
-                
                 userId = oauth2User.getName();
-                
-                oauth2User.getAttributes().forEach((key, value) -> {
-                    System.out.println("  Attribute: " + key + " = " + value + (value == null ? " (NULL)" : ""));
-                });
+                // Attribute names only: the values are personal data
+                log.debug("OAuth2 user attributes userId={} keys={}", userId, oauth2User.getAttributes().keySet());
             }
+            log.info("OAuth2 authentication succeeded userId={}", userId);
             
             String redirectUrl = UriComponentsBuilder.fromUriString(authorizedRedirectUris[0])
                     .queryParam("token", token)
                     .queryParam("userId", userId)
                     .build().toUriString();
             
-            System.out.println("Redirecting to: " + redirectUrl);
-            
             getRedirectStrategy().sendRedirect(request, response, redirectUrl);
         } catch (Exception e) {
-            System.err.println("Error in OAuth2 authentication success handler: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in OAuth2 authentication success handler", e);
             
             response.setHeader("Access-Control-Allow-Origin", "http://localhost:5173");
             response.setHeader("Access-Control-Allow-Credentials", "true");
@@ -73,8 +63,8 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
             
             try {
                 if (e.getMessage() != null && e.getMessage().contains("NULL id")) {
-                    System.err.println("MongoDB NULL id reference error detected. This typically happens when trying to reference an entity with a null ID.");
-                    System.err.println("Check User and UserProfile entity creation/updates in CustomOAuth2UserService.");
+                    log.error("MongoDB NULL id reference error detected. This typically happens when trying to reference an entity with a null ID. "
+                            + "Check User and UserProfile entity creation/updates in CustomOAuth2UserService.");
                 }
                 
                 String redirectUrl = UriComponentsBuilder.fromUriString(authorizedRedirectUris[0])
@@ -83,7 +73,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
                 
                 getRedirectStrategy().sendRedirect(request, response, redirectUrl);
             } catch (Exception ex) {
-                System.err.println("Critical error in error handler: " + ex.getMessage());
+                log.error("Critical error in OAuth2 error handler", ex);
                 response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Authentication failed");
             }
         }
@@ -0,0 +1,92 @@
+package com.skillshare.skill_platform.migration;
+
+import com.skillshare.skill_platform.dto.PostCommentCount;
+import com.skillshare.skill_platform.entity.Post;
+import com.skillshare.skill_platform.repository.CommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Sets commentCount on every post from the comments collection and drops the
+ * never-populated embedded comments array. Counts are recomputed per batch of posts,
+ * so the run can be repeated.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.migration.comment-counts.enabled", havingValue = "true", matchIfMissing = true)
+public class CommentCountMigration implements ApplicationRunner {
+
+    static final String MIGRATION_ID = "post-comment-counts";
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final CommentRepository commentRepository;
+    private final MigrationLog migrationLog;
+
+    public CommentCountMigration(MongoTemplate mongoTemplate, CommentRepository commentRepository,
+            MigrationLog migrationLog) {
+        this.mongoTemplate = mongoTemplate;
+        this.commentRepository = commentRepository;
+        this.migrationLog = migrationLog;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (migrationLog.isApplied(MIGRATION_ID)) {
+            return;
+        }
+
+        String postCollection = mongoTemplate.getCollectionName(Post.class);
+        Query allPosts = new Query();
+        allPosts.fields().include("_id");
+
+        long migrated = 0;
+        try (Stream<Document> posts = mongoTemplate.stream(allPosts, Document.class, postCollection)) {
+            List<Object> batch = new ArrayList<>(BATCH_SIZE);
+            for (Document post : (Iterable<Document>) posts::iterator) {
+                batch.add(post.get("_id"));
+                if (batch.size() == BATCH_SIZE) {
+                    migrated += migrateBatch(batch, postCollection);
+                    batch.clear();
+                }
+            }
+            migrated += migrateBatch(batch, postCollection);
+        }
+
+        migrationLog.markApplied(MIGRATION_ID);
+        log.info("Set comment counts for {} posts", migrated);
+    }
+
+    private int migrateBatch(List<Object> postIds, String postCollection) {
+        if (postIds.isEmpty()) {
+            return 0;
+        }
+        Map<String, Long> counts = new HashMap<>();
+        for (PostCommentCount count : commentRepository.countByPostIds(postIds.stream().map(Object::toString).toList())) {
+            counts.put(count.getPostId(), count.getCount());
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, postCollection);
+        for (Object postId : postIds) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(postId)),
+                    new Update().set("commentCount", counts.getOrDefault(postId.toString(), 0L)).unset("comments"));
+        }
+        bulk.execute();
+        return postIds.size();
+    }
+}
@@ -0,0 +1,87 @@
+package com.skillshare.skill_platform.migration;
+
+import com.skillshare.skill_platform.entity.Like;
+import com.skillshare.skill_platform.entity.Post;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves the likes that used to be embedded in each post into the "likes" collection
+ * and replaces the array with a likeCount field.
+ *
+ * Runs once after startup while the server is already accepting requests. Every step
+ * is an upsert or a recount, so an interrupted run can simply be repeated.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.migration.embedded-likes.enabled", havingValue = "true", matchIfMissing = true)
+public class EmbeddedLikesMigration implements ApplicationRunner {
+
+    static final String MIGRATION_ID = "embedded-likes-to-likes-collection";
+
+    private final MongoTemplate mongoTemplate;
+    private final MigrationLog migrationLog;
+
+    public EmbeddedLikesMigration(MongoTemplate mongoTemplate, MigrationLog migrationLog) {
+        this.mongoTemplate = mongoTemplate;
+        this.migrationLog = migrationLog;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (migrationLog.isApplied(MIGRATION_ID)) {
+            return;
+        }
+
+        String postCollection = mongoTemplate.getCollectionName(Post.class);
+        Query legacyPosts = Query.query(Criteria.where("likes").exists(true));
+        legacyPosts.fields().include("likes");
+
+        long migrated = 0;
+        try (Stream<Document> posts = mongoTemplate.stream(legacyPosts, Document.class, postCollection)) {
+            for (Document post : (Iterable<Document>) posts::iterator) {
+                migratePost(post, postCollection);
+                migrated++;
+            }
+        }
+
+        migrationLog.markApplied(MIGRATION_ID);
+        log.info("Migrated embedded likes for {} posts", migrated);
+    }
+
+    private void migratePost(Document post, String postCollection) {
+        Object rawId = post.get("_id");
+        String postId = rawId.toString();
+        List<Document> likes = post.getList("likes", Document.class, List.of());
+
+        if (!likes.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Like.class);
+            for (Document like : likes) {
+                Date createdAt = like.getDate("createdAt");
+                bulk.upsert(
+                        Query.query(Criteria.where("postId").is(postId).and("userId").is(like.getString("userId"))),
+                        new Update().setOnInsert("createdAt", createdAt != null ? createdAt : new Date()));
+            }
+            bulk.execute();
+        }
+
+        // Recount rather than copy the array size so likes made during the migration are included
+        long likeCount = mongoTemplate.count(Query.query(Criteria.where("postId").is(postId)), Like.class);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(rawId)),
+                new Update().set("likeCount", likeCount).unset("likes"),
+                postCollection);
+    }
+}
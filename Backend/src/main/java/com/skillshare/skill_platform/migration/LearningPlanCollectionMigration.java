@@ -0,0 +1,201 @@
+package com.skillshare.skill_platform.migration;
+
+import com.skillshare.skill_platform.dto.PageCursor;
+import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Copies learning plans that were stored in the "users" collection into "learning_plans".
+ *
+ * Runs after startup while requests are being served. Until {@link #isCopied()} is true,
+ * LearningPlanMigrationInterceptor copies the plans a request needs ahead of the bulk copy
+ * (one user's plans, one plan, or the plans a list page could show), so the plan endpoints
+ * keep answering throughout. Plans are copied with $setOnInsert, so a plan
+ * already written to the new collection is never overwritten and the copy can be re-run
+ * safely. Removing the originals from "users" is a separate step, recorded on its own and
+ * only run once app.migration.learning-plans.delete-source is switched on after the copy.
+ */
+@Slf4j
+@Component
+@Order(1)
+@ConditionalOnProperty(name = "app.migration.learning-plans.enabled", havingValue = "true", matchIfMissing = true)
+public class LearningPlanCollectionMigration implements ApplicationRunner {
+
+    static final String MIGRATION_ID = "learning-plans-out-of-users";
+    static final String DELETE_SOURCE_ID = "learning-plans-removed-from-users";
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final MigrationLog migrationLog;
+
+    @Value("${app.migration.learning-plans.delete-source:false}")
+    private boolean deleteSource;
+
+    private volatile boolean copied;
+
+    public LearningPlanCollectionMigration(MongoTemplate mongoTemplate, MigrationLog migrationLog) {
+        this.mongoTemplate = mongoTemplate;
+        this.migrationLog = migrationLog;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!migrationLog.isApplied(MIGRATION_ID)) {
+            copyPlans();
+            migrationLog.markApplied(MIGRATION_ID);
+        }
+        copied = true;
+
+        if (deleteSource && !migrationLog.isApplied(DELETE_SOURCE_ID)) {
+            removeCopiedPlans();
+            migrationLog.markApplied(DELETE_SOURCE_ID);
+        }
+    }
+
+    /**
+     * True once every plan in "users" is also in "learning_plans".
+     */
+    public boolean isCopied() {
+        return copied;
+    }
+
+    // Copies one user's plans ahead of the bulk copy
+    public void copyPlansOf(String userId) {
+        copyNow(Query.query(new Criteria().andOperator(legacyPlanCriteria(), Criteria.where("userId").is(userId))));
+    }
+
+    public void copyPlan(String planId) {
+        Object id = ObjectId.isValid(planId) ? new ObjectId(planId) : planId;
+        copyNow(Query.query(new Criteria().andOperator(legacyPlanCriteria(), Criteria.where("_id").is(id))));
+    }
+
+    /**
+     * Copies the newest {@code count} legacy plans after the cursor, optionally of one stream.
+     * A list page is the newest plans of both collections together, so with these copied the
+     * page read from "learning_plans" alone is complete.
+     */
+    public void copyNewest(String stream, PageCursor after, int count) {
+        List<Criteria> filters = new ArrayList<>();
+        filters.add(legacyPlanCriteria());
+        if (stream != null && !stream.isBlank()) {
+            filters.add(Criteria.where("stream").is(stream));
+        }
+        if (after != null) {
+            filters.add(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(after.getTimestamp()),
+                    Criteria.where("createdAt").is(after.getTimestamp()).and("_id").lt(after.idValue())));
+        }
+        Query query = new Query(new Criteria().andOperator(filters));
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt", "_id")).limit(count);
+        copyNow(query);
+    }
+
+    private void copyNow(Query query) {
+        if (copied) {
+            return;
+        }
+        List<Document> plans = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(User.class));
+        copy(plans, mongoTemplate.getCollectionName(LearningPlan.class));
+    }
+
+    private void copyPlans() {
+        String usersCollection = mongoTemplate.getCollectionName(User.class);
+        String plansCollection = mongoTemplate.getCollectionName(LearningPlan.class);
+
+        int copiedPlans = 0;
+        try (Stream<Document> plans = mongoTemplate.stream(legacyPlans(), Document.class, usersCollection)) {
+            List<Document> batch = new ArrayList<>(BATCH_SIZE);
+            for (Document plan : (Iterable<Document>) plans::iterator) {
+                batch.add(plan);
+                if (batch.size() == BATCH_SIZE) {
+                    copiedPlans += copy(batch, plansCollection);
+                    batch.clear();
+                }
+            }
+            copiedPlans += copy(batch, plansCollection);
+        }
+        log.info("Copied {} learning plans out of the users collection", copiedPlans);
+    }
+
+    // Only originals whose copy is present in "learning_plans" are removed
+    private void removeCopiedPlans() {
+        String usersCollection = mongoTemplate.getCollectionName(User.class);
+        String plansCollection = mongoTemplate.getCollectionName(LearningPlan.class);
+
+        Query legacyIds = legacyPlans();
+        legacyIds.fields().include("_id");
+        long removed = 0;
+        try (Stream<Document> plans = mongoTemplate.stream(legacyIds, Document.class, usersCollection)) {
+            List<Object> batch = new ArrayList<>(BATCH_SIZE);
+            for (Document plan : (Iterable<Document>) plans::iterator) {
+                batch.add(plan.get("_id"));
+                if (batch.size() == BATCH_SIZE) {
+                    removed += remove(batch, usersCollection, plansCollection);
+                    batch.clear();
+                }
+            }
+            removed += remove(batch, usersCollection, plansCollection);
+        }
+        log.info("Removed {} copied learning plans from the users collection", removed);
+    }
+
+    private Query legacyPlans() {
+        return Query.query(legacyPlanCriteria());
+    }
+
+    // Plans are the documents in "users" that carry plan fields; user documents never do
+    private static Criteria legacyPlanCriteria() {
+        return new Criteria().orOperator(
+                Criteria.where("_class").is(LearningPlan.class.getName()),
+                Criteria.where("learningPlanName").exists(true));
+    }
+
+    private int copy(List<Document> batch, String plansCollection) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, plansCollection);
+        for (Document plan : batch) {
+            Object id = plan.remove("_id");
+            bulk.upsert(Query.query(Criteria.where("_id").is(id)),
+                    Update.fromDocument(new Document("$setOnInsert", plan)));
+        }
+        bulk.execute();
+        return batch.size();
+    }
+
+    private long remove(List<Object> ids, String usersCollection, String plansCollection) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Query copies = Query.query(Criteria.where("_id").in(ids));
+        copies.fields().include("_id");
+        List<Object> copiedIds = mongoTemplate.find(copies, Document.class, plansCollection).stream()
+                .map(plan -> plan.get("_id"))
+                .toList();
+        if (copiedIds.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").in(copiedIds)), usersCollection)
+                .getDeletedCount();
+    }
+}
@@ -0,0 +1,150 @@
+package com.skillshare.skill_platform.migration;
+
+import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.LearningProgress;
+import com.skillshare.skill_platform.entity.TopicProgress;
+import com.skillshare.skill_platform.entity.TopicStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.MongoExpression;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recounts the topic progress counters of every plan from its topics, then rebuilds
+ * every user's totals in "learning_progress" from the plans.
+ * Runs after the plans have been moved into their own collection. While the totals are
+ * rebuilt, plan writes are held off (see LearningPlanMigrationInterceptor): the totals come
+ * from a read of the plans, and an $inc landing between that read and the rebuild would be
+ * lost. Writes already running are let finish before the read.
+ */
+@Slf4j
+@Component
+@Order(2)
+@ConditionalOnProperty(name = "app.migration.learning-progress.enabled", havingValue = "true", matchIfMissing = true)
+public class LearningProgressMigration implements ApplicationRunner {
+
+    static final String MIGRATION_ID = "learning-plan-progress-recount";
+
+    private final MongoTemplate mongoTemplate;
+    private final MigrationLog migrationLog;
+
+    private static final long DRAIN_TIMEOUT_MS = 30_000;
+
+    // Plan writes in flight, and whether new ones are held off for the totals rebuild
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private volatile boolean writesHeld;
+
+    public LearningProgressMigration(MongoTemplate mongoTemplate, MigrationLog migrationLog) {
+        this.mongoTemplate = mongoTemplate;
+        this.migrationLog = migrationLog;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (migrationLog.isApplied(MIGRATION_ID)) {
+            return;
+        }
+
+        // Every plan is recounted from its topics, including plans whose counters a topic
+        // update created partially. Each plan is rewritten in one server-side update, so a
+        // topic update landing meanwhile is never overwritten with a stale count.
+        AggregationUpdate recount = AggregationUpdate.update()
+                .set("progress.pending").toValue(countTopics(TopicStatus.PENDING))
+                .set("progress.inProgress").toValue(countTopics(TopicStatus.IN_PROGRESS))
+                .set("progress.completed").toValue(countTopics(TopicStatus.COMPLETED));
+        long plans = mongoTemplate.updateMulti(new Query(), recount, LearningPlan.class).getMatchedCount();
+
+        writesHeld = true;
+        try {
+            awaitWritesInFlight();
+            int users = rebuildTotals();
+            migrationLog.markApplied(MIGRATION_ID);
+            log.info("Backfilled progress for {} learning plans and {} users", plans, users);
+        } finally {
+            writesHeld = false;
+        }
+    }
+
+    /**
+     * Registers a plan write; false while writes are held off for the totals rebuild.
+     * Every successful call must be paired with {@link #exitWrite()}.
+     */
+    public boolean tryEnterWrite() {
+        writesInFlight.incrementAndGet();
+        if (writesHeld) {
+            writesInFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void exitWrite() {
+        writesInFlight.decrementAndGet();
+    }
+
+    private void awaitWritesInFlight() {
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+        while (writesInFlight.get() > 0) {
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("Learning plan writes did not finish before the progress recount");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for learning plan writes", e);
+            }
+        }
+    }
+
+    private int rebuildTotals() {
+        Aggregation totalsByUser = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").ne(null)),
+                Aggregation.group("userId")
+                        .count().as("planCount")
+                        .sum("progress.pending").as("pending")
+                        .sum("progress.inProgress").as("inProgress")
+                        .sum("progress.completed").as("completed"));
+        List<Document> totals = mongoTemplate.aggregate(totalsByUser, LearningPlan.class, Document.class)
+                .getMappedResults();
+
+        if (!totals.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LearningProgress.class);
+            for (Document userTotals : totals) {
+                TopicProgress progress = new TopicProgress(
+                        ((Number) userTotals.get("pending")).longValue(),
+                        ((Number) userTotals.get("inProgress")).longValue(),
+                        ((Number) userTotals.get("completed")).longValue());
+                bulk.upsert(Query.query(Criteria.where("_id").is(userTotals.get("_id"))),
+                        new Update()
+                                .set("planCount", ((Number) userTotals.get("planCount")).longValue())
+                                .set("totals", progress));
+            }
+            bulk.execute();
+        }
+
+        return totals.size();
+    }
+
+    // A topic without a status counts as pending
+    private static AggregationExpression countTopics(TopicStatus status) {
+        return AggregationExpression.from(MongoExpression.create("{ $size: { $filter: {"
+                + " input: { $ifNull: ['$topics', []] },"
+                + " cond: { $eq: [{ $ifNull: ['$$this.status', 'PENDING'] }, '" + status.name() + "'] } } } }"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.skillshare.skill_platform.migration;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Records which one-time data migrations have completed, in the "migrations" collection.
+ */
+@Component
+public class MigrationLog {
+
+    private static final String COLLECTION = "migrations";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MigrationLog(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public boolean isApplied(String migrationId) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(migrationId)), COLLECTION);
+    }
+
+    public void markApplied(String migrationId) {
+        mongoTemplate.save(new Document("_id", migrationId).append("appliedAt", new Date()), COLLECTION);
+    }
+}
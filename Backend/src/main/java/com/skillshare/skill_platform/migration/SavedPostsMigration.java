@@ -0,0 +1,87 @@
+package com.skillshare.skill_platform.migration;
+
+import com.skillshare.skill_platform.entity.Post;
+import com.skillshare.skill_platform.entity.SavedPost;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves each post's savedByUsers array into the "saved_posts" collection and replaces
+ * it with a saveCount field. The original save times were never stored, so migrated
+ * saves are stamped with the time of the migration.
+ *
+ * Like the likes migration, every step is an upsert or a recount and can be repeated.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.migration.saved-posts.enabled", havingValue = "true", matchIfMissing = true)
+public class SavedPostsMigration implements ApplicationRunner {
+
+    static final String MIGRATION_ID = "saved-by-users-to-saved-posts-collection";
+
+    private final MongoTemplate mongoTemplate;
+    private final MigrationLog migrationLog;
+
+    public SavedPostsMigration(MongoTemplate mongoTemplate, MigrationLog migrationLog) {
+        this.mongoTemplate = mongoTemplate;
+        this.migrationLog = migrationLog;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (migrationLog.isApplied(MIGRATION_ID)) {
+            return;
+        }
+
+        String postCollection = mongoTemplate.getCollectionName(Post.class);
+        Query legacyPosts = Query.query(Criteria.where("savedByUsers").exists(true));
+        legacyPosts.fields().include("savedByUsers");
+
+        Date savedAt = new Date();
+        long migrated = 0;
+        try (Stream<Document> posts = mongoTemplate.stream(legacyPosts, Document.class, postCollection)) {
+            for (Document post : (Iterable<Document>) posts::iterator) {
+                migratePost(post, postCollection, savedAt);
+                migrated++;
+            }
+        }
+
+        migrationLog.markApplied(MIGRATION_ID);
+        log.info("Migrated saves for {} posts", migrated);
+    }
+
+    private void migratePost(Document post, String postCollection, Date savedAt) {
+        Object rawId = post.get("_id");
+        String postId = rawId.toString();
+        List<String> userIds = post.getList("savedByUsers", String.class, List.of());
+
+        if (!userIds.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SavedPost.class);
+            for (String userId : userIds) {
+                bulk.upsert(
+                        Query.query(Criteria.where("userId").is(userId).and("postId").is(postId)),
+                        new Update().setOnInsert("savedAt", savedAt));
+            }
+            bulk.execute();
+        }
+
+        // Recount so saves made during the migration are included
+        long saveCount = mongoTemplate.count(Query.query(Criteria.where("postId").is(postId)), SavedPost.class);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(rawId)),
+                new Update().set("saveCount", saveCount).unset("savedByUsers"),
+                postCollection);
+    }
+}
@@ -1,9 +1,41 @@
 package com.skillshare.skill_platform.repository;
 
+import com.skillshare.skill_platform.dto.PostCommentCount;
 import com.skillshare.skill_platform.entity.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends MongoRepository<Comment,String> {
-} 
\ No newline at end of file
+
+    // First page of a post's comments, oldest first; served by the (postId, createdAt, _id) index
+    List<Comment> findByPostIdOrderByCreatedAtAscIdAsc(String postId, Pageable pageable);
+
+    // Page of a post's comments strictly after the (createdAt, id) cursor
+    @Query(value = "{ 'postId': ?0, '$or': [ { 'createdAt': { '$gt': ?1 } }, { 'createdAt': ?1, '_id': { '$gt': ?2 } } ] }",
+            sort = "{ 'createdAt': 1, '_id': 1 }")
+    List<Comment> findPageByPostIdAfter(String postId, Date createdAt, Object id, Pageable pageable);
+
+    // Comment totals for a page of posts, answered from the index alone
+    @Aggregation(pipeline = {
+            "{ '$match': { 'postId': { '$in': ?0 } } }",
+            "{ '$group': { '_id': '$postId', 'count': { '$sum': 1 } } }"
+    })
+    List<PostCommentCount> countByPostIds(Collection<String> postIds);
+
+    // Newest comment of each post; the sort walks the index backwards so $first stays cheap
+    @Aggregation(pipeline = {
+            "{ '$match': { 'postId': { '$in': ?0 } } }",
+            "{ '$sort': { 'postId': -1, 'createdAt': -1, '_id': -1 } }",
+            "{ '$group': { '_id': '$postId', 'comment': { '$first': '$$ROOT' } } }",
+            "{ '$replaceRoot': { 'newRoot': '$comment' } }"
+    })
+    List<Comment> findLatestByPostIds(Collection<String> postIds);
+}
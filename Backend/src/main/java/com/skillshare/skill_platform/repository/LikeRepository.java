@@ -0,0 +1,15 @@
+package com.skillshare.skill_platform.repository;
+
+import com.skillshare.skill_platform.entity.Like;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LikeRepository extends MongoRepository<Like,String> {
+    long deleteByPostIdAndUserId(String postId, String userId);
+    long deleteByPostId(String postId);
+    List<Like> findByUserIdAndPostIdIn(String userId, Collection<String> postIds);
+}
@@ -1,12 +1,32 @@
 package com.skillshare.skill_platform.repository;
 
 import com.skillshare.skill_platform.entity.Post;
-import org.apache.catalina.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.UUID;
+import java.util.Date;
+import java.util.List;
 
 @Repository
 public interface PostRepository extends MongoRepository<Post,String> {
-} 
\ No newline at end of file
+
+    // First feed page, newest first; served by the (date, _id) index
+    List<Post> findByOrderByDateDescIdDesc(Pageable pageable);
+
+    // Feed page strictly after the (date, id) cursor of the previous page
+    @Query(value = "{ '$or': [ { 'date': { '$lt': ?0 } }, { 'date': ?0, '_id': { '$lt': ?1 } } ] }",
+            sort = "{ 'date': -1, '_id': -1 }")
+    List<Post> findFeedPageAfter(Date date, Object id, Pageable pageable);
+
+    // An author's posts, newest first; served by the (userId, date, _id) index
+    List<Post> findByUserIdOrderByDateDescIdDesc(String userId, Pageable pageable);
+
+    @Query(value = "{ 'userId': ?0, '$or': [ { 'date': { '$lt': ?1 } }, { 'date': ?1, '_id': { '$lt': ?2 } } ] }",
+            sort = "{ 'date': -1, '_id': -1 }")
+    List<Post> findPageByUserIdAfter(String userId, Date date, Object id, Pageable pageable);
+
+    // Answered from the same index without reading any posts
+    long countByUserId(String userId);
+}
@@ -0,0 +1,25 @@
+package com.skillshare.skill_platform.repository;
+
+import com.skillshare.skill_platform.entity.SavedPost;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface SavedPostRepository extends MongoRepository<SavedPost, String> {
+    long deleteByUserIdAndPostId(String userId, String postId);
+    long deleteByPostId(String postId);
+    List<SavedPost> findByUserIdAndPostIdIn(String userId, Collection<String> postIds);
+
+    List<SavedPost> findByUserIdOrderBySavedAtDescIdDesc(String userId, Pageable pageable);
+
+    // A user's saves strictly after the (savedAt, id) cursor of the previous page
+    @Query(value = "{ 'userId': ?0, '$or': [ { 'savedAt': { '$lt': ?1 } }, { 'savedAt': ?1, '_id': { '$lt': ?2 } } ] }",
+            sort = "{ 'savedAt': -1, '_id': -1 }")
+    List<SavedPost> findPageByUserIdAfter(String userId, Date savedAt, Object id, Pageable pageable);
+}
@@ -2,10 +2,14 @@ package com.skillshare.skill_platform.repository;
 
 
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.skillshare.skill_platform.entity.UserProfile;
 
 public interface UserProfileRepository extends MongoRepository<UserProfile, String> {
     UserProfile findByUserId(String userId);
+    List<UserProfile> findByUserIdIn(Collection<String> userIds);
 }
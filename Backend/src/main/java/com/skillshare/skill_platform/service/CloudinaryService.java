@@ -1,7 +1,11 @@
 package com.skillshare.skill_platform.service;
 
-import org.springframework.web.multipart.MultipartFile;
+import com.skillshare.skill_platform.entity.MediaAsset;
+
+import java.io.File;
 
 public interface CloudinaryService {
-    public String uploadFile(MultipartFile file, String folderName);
-} 
\ No newline at end of file
+    public MediaAsset uploadAsset(File file, String contentType, String folderName);
+    public void destroy(String publicId, String resourceType);
+    public void validate(long size, String contentType);
+}
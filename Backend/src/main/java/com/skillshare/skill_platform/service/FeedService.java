@@ -0,0 +1,10 @@
+package com.skillshare.skill_platform.service;
+
+import com.skillshare.skill_platform.dto.CursorPage;
+import com.skillshare.skill_platform.dto.FeedItem;
+import com.skillshare.skill_platform.dto.FeedSnapshot;
+
+public interface FeedService {
+    FeedSnapshot getFeedVersion(String viewerId, Integer limit, String after);
+    CursorPage<FeedItem> getFeedPage(FeedSnapshot snapshot);
+}
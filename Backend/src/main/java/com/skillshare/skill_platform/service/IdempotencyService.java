@@ -0,0 +1,24 @@
+package com.skillshare.skill_platform.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    String KEY_HEADER = "Idempotency-Key";
+    String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Runs {@code action} once per key. A repeat of a completed request gets the stored
+     * response back. A repeat that arrives while the first is still running waits for it,
+     * without holding a request thread, and then gets the same response; it fails with 409
+     * if the first request takes too long or fails. {@code requestParts} identify the
+     * request, so reusing a key for a different request is rejected. Without a key the
+     * action simply runs.
+     */
+    CompletableFuture<ResponseEntity<?>> execute(String scope, String userId, String key, List<?> requestParts,
+            Supplier<ResponseEntity<?>> action);
+}
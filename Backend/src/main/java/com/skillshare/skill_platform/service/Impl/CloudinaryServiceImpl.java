@@ -1,44 +1,117 @@
 package com.skillshare.skill_platform.service.Impl;
 
 import com.cloudinary.Cloudinary;
+import com.skillshare.skill_platform.entity.MediaAsset;
+import com.skillshare.skill_platform.exception.BadRequestException;
 import com.skillshare.skill_platform.service.CloudinaryService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @Service
 public class CloudinaryServiceImpl implements CloudinaryService {
 
     @Resource
     private Cloudinary cloudinary;
 
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.upload.max-bytes:104857600}")
+    private long maxBytes;
+
+    @Value("${app.upload.allowed-content-types:image/,video/}")
+    private List<String> allowedContentTypes;
+
+    // Files above this size go through Cloudinary's chunked upload
+    @Value("${app.upload.large-file-threshold-bytes:20971520}")
+    private long largeFileThreshold;
+
+    // Heap used per large upload is one chunk; Cloudinary requires at least 5MB
+    @Value("${app.upload.chunk-size-bytes:6291456}")
+    private int chunkSize;
+
     @Override
-    public String uploadFile(MultipartFile file, String folderName) {
+    public MediaAsset uploadAsset(File file, String contentType, String folderName) {
+        String requestedType = contentType != null && contentType.startsWith("video/") ? "video" : "auto";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
         try {
             HashMap<Object, Object> options = new HashMap<>();
             options.put("folder", folderName);
-            options.put("resource_type", "auto"); 
+            options.put("resource_type", requestedType);
 
-            Map<String, Object> uploadedFile = cloudinary.uploader().upload(file.getBytes(), options);
+            // Both paths stream from disk: small files as one request body, large ones chunk by chunk
+            Map<String, Object> uploadedFile = file.length() > largeFileThreshold
+                    ? cloudinary.uploader().uploadLarge(file, options, chunkSize)
+                    : cloudinary.uploader().upload(file, options);
             String publicId = (String) uploadedFile.get("public_id");
             String format = (String) uploadedFile.get("format");  
+            String resourceType = (String) uploadedFile.get("resource_type");
+
+            MediaAsset asset = new MediaAsset();
+            asset.setPublicId(publicId);
+            asset.setResourceType(resourceType);
+            asset.setSize(file.length());
 
             // Check if the uploaded file is a video
-            if ("video".equals(uploadedFile.get("resource_type"))) {
+            if ("video".equals(resourceType)) {
                 // Return video URL
-                return cloudinary.url().resourceType("video").format(format).secure(true).generate(publicId);
+                asset.setUrl(cloudinary.url().resourceType("video").format(format).secure(true).generate(publicId));
             } else {
                 // Return image URL
-                return cloudinary.url().secure(true).generate(publicId);
+                asset.setUrl(cloudinary.url().secure(true).generate(publicId));
             }
+            outcome = "success";
+            DistributionSummary.builder("cloudinary.upload.size")
+                    .baseUnit("bytes")
+                    .tag("resource_type", requestedType)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(file.length());
+            return asset;
 
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("Cloudinary upload failed bytes={}", file.length(), e);
             return null;
+        } finally {
+            sample.stop(Timer.builder("cloudinary.upload")
+                    .tag("resource_type", requestedType)
+                    .tag("chunked", String.valueOf(file.length() > largeFileThreshold))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void destroy(String publicId, String resourceType) {
+        try {
+            cloudinary.uploader().destroy(publicId,
+                    Map.of("resource_type", resourceType != null ? resourceType : "image", "invalidate", true));
+        } catch (Exception e) {
+            log.warn("Could not delete media publicId={}: {}", publicId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void validate(long size, String contentType) {
+        if (size > maxBytes) {
+            throw new BadRequestException("File is too large: " + size + " bytes (limit " + maxBytes + ")");
+        }
+        if (contentType == null || allowedContentTypes.stream().noneMatch(contentType::startsWith)) {
+            throw new BadRequestException("Unsupported file type: " + contentType);
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,23 +1,46 @@
 package com.skillshare.skill_platform.service.Impl;
 
+import com.skillshare.skill_platform.config.MetricsConfig;
+import com.skillshare.skill_platform.config.SamplingTurboFilter;
 import com.skillshare.skill_platform.dto.CommentRequest;
+import com.skillshare.skill_platform.dto.CursorPage;
+import com.skillshare.skill_platform.dto.PageCursor;
 import com.skillshare.skill_platform.entity.Comment;
+import com.skillshare.skill_platform.entity.Post;
 import com.skillshare.skill_platform.repository.CommentRepository;
 import com.skillshare.skill_platform.service.CommentService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class CommentServiceImpl implements CommentService {
 
+    private static final String COMMENTS_METRIC = "skillshare.comments";
+
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     public Comment createComment(String postId, CommentRequest commentRequest) {
         Comment newComment = new Comment();
@@ -25,21 +48,23 @@ public class CommentServiceImpl implements CommentService {
         newComment.setContent(commentRequest.getContent());
         newComment.setUserId(commentRequest.getUserId());
         newComment.setCreatedAt(new Date());
-        return commentRepository.save(newComment);
+        Comment saved = commentRepository.save(newComment);
+        adjustCommentCount(postId, 1);
+        meterRegistry.counter(COMMENTS_METRIC, "action", "create").increment();
+        log.info(SamplingTurboFilter.SAMPLED, "Comment created postId={} commentId={}", postId, saved.getId());
+        return saved;
     }
 
     @Override
-    public List<Comment> getAllCommentsByPostId(String postId) {
-        List<Comment> allComments = commentRepository.findAll();
-        List<Comment> commentsForPost = new ArrayList<>();
-
-        for (Comment comment : allComments) {
-            if (comment.getPostId().equals(postId)) {
-                commentsForPost.add(comment);
-            }
-        }
-
-        return commentsForPost;
+    public CursorPage<Comment> getCommentsByPostId(String postId, Integer limit, String after) {
+        int pageSize = PageCursor.pageSize(limit);
+        PageCursor cursor = PageCursor.decode(after);
+        // Fetch one extra row to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Comment> comments = cursor == null
+                ? commentRepository.findByPostIdOrderByCreatedAtAscIdAsc(postId, pageable)
+                : commentRepository.findPageByPostIdAfter(postId, cursor.getTimestamp(), cursor.idValue(), pageable);
+        return CursorPage.of(comments, pageSize, comment -> PageCursor.of(comment.getCreatedAt(), comment.getId()));
     }
 
     @Override
@@ -51,6 +76,8 @@ public class CommentServiceImpl implements CommentService {
             if (comment.getUserId().equals(userId)) {
                 comment.setContent(commentRequest.getContent());
                 commentRepository.save(comment);
+                // The feed shows the latest comment, so an edit changes the post's representation
+                touchPost(comment.getPostId());
                 return true;
             }
         }
@@ -65,9 +92,26 @@ public class CommentServiceImpl implements CommentService {
            
             if (comment.getUserId().equals(userId)) {
                 commentRepository.delete(comment);
+                adjustCommentCount(comment.getPostId(), -1);
+                meterRegistry.counter(COMMENTS_METRIC, "action", "delete").increment();
                 return true; 
             }
         }
         return false;
     }
-} 
\ No newline at end of file
+
+    // Post.commentCount follows the comments collection; decrements never go below zero
+    private void adjustCommentCount(String postId, long delta) {
+        Criteria criteria = Criteria.where("_id").is(postId);
+        if (delta < 0) {
+            criteria = criteria.and("commentCount").gt(0);
+        }
+        mongoTemplate.updateFirst(new Query(criteria),
+                new Update().inc("commentCount", delta).currentDate("updatedAt"), Post.class);
+    }
+
+    private void touchPost(String postId) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(postId)),
+                new Update().currentDate("updatedAt"), Post.class);
+    }
+}
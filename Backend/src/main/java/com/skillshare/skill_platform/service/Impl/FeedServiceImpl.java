@@ -0,0 +1,165 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.skillshare.skill_platform.config.MetricsConfig;
+import com.skillshare.skill_platform.dto.AuthorSummary;
+import com.skillshare.skill_platform.dto.CursorPage;
+import com.skillshare.skill_platform.dto.FeedItem;
+import com.skillshare.skill_platform.dto.FeedSnapshot;
+import com.skillshare.skill_platform.dto.PostSummary;
+import com.skillshare.skill_platform.dto.PostVersion;
+import com.skillshare.skill_platform.entity.Comment;
+import com.skillshare.skill_platform.entity.Like;
+import com.skillshare.skill_platform.entity.SavedPost;
+import com.skillshare.skill_platform.entity.UserProfile;
+import com.skillshare.skill_platform.repository.CommentRepository;
+import com.skillshare.skill_platform.repository.LikeRepository;
+import com.skillshare.skill_platform.repository.SavedPostRepository;
+import com.skillshare.skill_platform.repository.UserProfileRepository;
+import com.skillshare.skill_platform.service.FeedService;
+import com.skillshare.skill_platform.service.PostService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles a feed page in one round trip for the client. After the page's post versions
+ * are read, the author, comment and viewer lookups are independent: each is a single
+ * batched $in query and they run in parallel on the fan-out executor. The author and
+ * viewer lookups feed the page's version first and are reused to build the page.
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class FeedServiceImpl implements FeedService {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private SavedPostRepository savedPostRepository;
+
+    @Autowired
+    @Qualifier("feedFanOutExecutor")
+    private TaskExecutor feedFanOutExecutor;
+
+    /**
+     * What a feed page shows, read without building it: each post's version (comment writes
+     * touch their post, so it covers the latest comment too), the viewer's likes and saves,
+     * and the authors' names and pictures.
+     */
+    @Override
+    public FeedSnapshot getFeedVersion(String viewerId, Integer limit, String after) {
+        CursorPage<PostVersion> page = postService.getPostVersions(limit, after);
+        List<String> postIds = page.getItems().stream().map(PostVersion::getId).toList();
+        Set<String> authorIds = page.getItems().stream()
+                .map(PostVersion::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        CompletableFuture<Map<String, UserProfile>> authors = findAuthors(authorIds);
+        CompletableFuture<Set<String>> likedByViewer = findLiked(viewerId, postIds);
+        CompletableFuture<Set<String>> savedByViewer = findSaved(viewerId, postIds);
+        CompletableFuture.allOf(authors, likedByViewer, savedByViewer).join();
+
+        List<Object> parts = new ArrayList<>();
+        parts.add(page.getNextCursor());
+        for (PostVersion post : page.getItems()) {
+            UserProfile author = authors.join().get(post.getUserId());
+            parts.add(post.getId());
+            parts.add(post.getVersion());
+            parts.add(likedByViewer.join().contains(post.getId()));
+            parts.add(savedByViewer.join().contains(post.getId()));
+            parts.add(author != null ? author.getFullName() + ":" + author.getProfilePictureUrl() : null);
+        }
+        String version = parts.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return new FeedSnapshot(version, page, authors.join(), likedByViewer.join(), savedByViewer.join());
+    }
+
+    // Only the posts and their latest comments are still to read; the rest came with the version
+    @Override
+    public CursorPage<FeedItem> getFeedPage(FeedSnapshot snapshot) {
+        List<String> postIds = snapshot.getPosts().getItems().stream().map(PostVersion::getId).toList();
+        if (postIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        CompletableFuture<List<PostSummary>> posts = CompletableFuture.supplyAsync(
+                () -> postService.getPostSummaries(postIds), feedFanOutExecutor);
+        CompletableFuture<Map<String, Comment>> latestComments = CompletableFuture.supplyAsync(
+                () -> commentRepository.findLatestByPostIds(postIds).stream()
+                        .collect(Collectors.toMap(Comment::getPostId, Function.identity())),
+                feedFanOutExecutor);
+        CompletableFuture.allOf(posts, latestComments).join();
+
+        List<FeedItem> items = new ArrayList<>(postIds.size());
+        for (PostSummary post : posts.join()) {
+            post.setLikedByViewer(snapshot.getLikedByViewer().contains(post.getId()));
+            post.setSavedByViewer(snapshot.getSavedByViewer().contains(post.getId()));
+            items.add(FeedItem.builder()
+                    .post(post)
+                    .author(toAuthorSummary(post.getUserId(), snapshot.getAuthors().get(post.getUserId())))
+                    .latestComment(latestComments.join().get(post.getId()))
+                    .build());
+        }
+        return new CursorPage<>(items, snapshot.getPosts().getNextCursor());
+    }
+
+    private CompletableFuture<Map<String, UserProfile>> findAuthors(Set<String> authorIds) {
+        return CompletableFuture.supplyAsync(
+                () -> userProfileRepository.findByUserIdIn(authorIds).stream()
+                        .collect(Collectors.toMap(UserProfile::getUserId, Function.identity(), (a, b) -> a)),
+                feedFanOutExecutor);
+    }
+
+    private CompletableFuture<Set<String>> findLiked(String viewerId, List<String> postIds) {
+        if (viewerId == null) {
+            return CompletableFuture.completedFuture(Set.of());
+        }
+        return CompletableFuture.supplyAsync(
+                () -> likeRepository.findByUserIdAndPostIdIn(viewerId, postIds).stream()
+                        .map(Like::getPostId)
+                        .collect(Collectors.toSet()),
+                feedFanOutExecutor);
+    }
+
+    private CompletableFuture<Set<String>> findSaved(String viewerId, List<String> postIds) {
+        if (viewerId == null) {
+            return CompletableFuture.completedFuture(Set.of());
+        }
+        return CompletableFuture.supplyAsync(
+                () -> savedPostRepository.findByUserIdAndPostIdIn(viewerId, postIds).stream()
+                        .map(SavedPost::getPostId)
+                        .collect(Collectors.toSet()),
+                feedFanOutExecutor);
+    }
+
+    private AuthorSummary toAuthorSummary(String userId, UserProfile profile) {
+        if (profile == null) {
+            return AuthorSummary.builder().userId(userId).build();
+        }
+        return AuthorSummary.builder()
+                .userId(userId)
+                .fullName(profile.getFullName())
+                .profilePictureUrl(profile.getProfilePictureUrl())
+                .build();
+    }
+}
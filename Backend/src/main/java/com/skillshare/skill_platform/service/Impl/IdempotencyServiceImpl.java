@@ -0,0 +1,231 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillshare.skill_platform.entity.IdempotencyRecord;
+import com.skillshare.skill_platform.exception.BadRequestException;
+import com.skillshare.skill_platform.exception.ConflictException;
+import com.skillshare.skill_platform.service.IdempotencyService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency keys backed by the "idempotency_keys" collection. The unique _id decides
+ * which request owns a key; every other request with that key reads the owner's result,
+ * so this works across application instances.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long MIN_POLL_MS = 50;
+    private static final long MAX_POLL_MS = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // An IN_PROGRESS key older than this belongs to a request that died; another may take it over
+    @Value("${app.idempotency.lock-timeout-ms:600000}")
+    private long lockTimeoutMs;
+
+    // How long a duplicate waits for the first request; kept below spring.mvc.async.request-timeout
+    @Value("${app.idempotency.wait-timeout-ms:60000}")
+    private long waitTimeoutMs;
+
+    // Checks on the keys that parked duplicates wait for; no request thread is held meanwhile
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "idempotency-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<?>> execute(String scope, String userId, String key,
+            List<?> requestParts, Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return CompletableFuture.completedFuture(action.get());
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = scope + ":" + userId + ":" + key;
+        String fingerprint = fingerprint(requestParts);
+
+        while (true) {
+            if (claim(id, fingerprint)) {
+                return CompletableFuture.completedFuture(runAndRecord(id, action));
+            }
+
+            IdempotencyRecord record = mongoTemplate.findById(id, IdempotencyRecord.class);
+            if (record == null) {
+                // The owner failed and released the key; try to claim it again
+                continue;
+            }
+            if (!fingerprint.equals(record.getFingerprint())) {
+                throw new BadRequestException(KEY_HEADER + " was already used for a different request");
+            }
+            if (record.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                return CompletableFuture.completedFuture(replay(record));
+            }
+            if (takeOverIfStale(record)) {
+                return CompletableFuture.completedFuture(runAndRecord(id, action));
+            }
+            CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+            awaitOwner(id, result, System.currentTimeMillis() + waitTimeoutMs, MIN_POLL_MS);
+            return result;
+        }
+    }
+
+    /**
+     * Completes {@code result} with the owner's response once it is recorded. If the owner
+     * fails it releases the key without a response to share, and the client has to retry.
+     */
+    private void awaitOwner(String id, CompletableFuture<ResponseEntity<?>> result, long deadline, long pollMs) {
+        try {
+            poller.schedule(() -> {
+                try {
+                    IdempotencyRecord record = mongoTemplate.findById(id, IdempotencyRecord.class);
+                    if (record != null && record.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                        result.complete(replay(record));
+                    } else if (record == null) {
+                        result.completeExceptionally(new ConflictException(
+                                "The original request with this " + KEY_HEADER + " failed, please retry"));
+                    } else if (System.currentTimeMillis() >= deadline) {
+                        result.completeExceptionally(new ConflictException(
+                                "A request with this " + KEY_HEADER + " is still being processed"));
+                    } else {
+                        awaitOwner(id, result, deadline, Math.min(pollMs * 2, MAX_POLL_MS));
+                    }
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }, pollMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new ConflictException(
+                    "A request with this " + KEY_HEADER + " is still being processed"));
+        }
+    }
+
+    private boolean claim(String id, String fingerprint) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setId(id);
+        record.setStatus(IdempotencyRecord.Status.IN_PROGRESS);
+        record.setFingerprint(fingerprint);
+        record.setLockedAt(new Date());
+        record.setCreatedAt(new Date());
+        try {
+            mongoTemplate.insert(record);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private boolean takeOverIfStale(IdempotencyRecord record) {
+        if (record.getLockedAt() == null
+                || record.getLockedAt().getTime() > System.currentTimeMillis() - lockTimeoutMs) {
+            return false;
+        }
+        // Conditional on the lock we saw, so only one waiter wins the takeover
+        Query query = Query.query(Criteria.where("_id").is(record.getId())
+                .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)
+                .and("lockedAt").is(record.getLockedAt()));
+        return mongoTemplate.findAndModify(query, Update.update("lockedAt", new Date()),
+                FindAndModifyOptions.options().returnNew(true), IdempotencyRecord.class) != null;
+    }
+
+    /**
+     * Server errors are not recorded: the key is released so the client can retry.
+     * Everything else, including 4xx answers, is replayed as-is.
+     */
+    private ResponseEntity<?> runAndRecord(String id, Supplier<ResponseEntity<?>> action) {
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(id);
+            throw e;
+        }
+        if (response == null || response.getStatusCode().is5xxServerError()) {
+            release(id);
+            return response;
+        }
+
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                    new Update()
+                            .set("status", IdempotencyRecord.Status.COMPLETED)
+                            .set("responseStatus", response.getStatusCode().value())
+                            .set("responseBody", response.hasBody() ? objectMapper.writeValueAsString(response.getBody()) : null),
+                    IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not record idempotent response for {}: {}", id, e.getMessage());
+            release(id);
+        }
+        return response;
+    }
+
+    private ResponseEntity<?> replay(IdempotencyRecord record) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.valueOf(record.getResponseStatus()))
+                .header(REPLAYED_HEADER, "true");
+        if (record.getResponseBody() == null) {
+            return response.build();
+        }
+        // The stored JSON goes back byte for byte, without mapping it to objects again
+        return response.contentType(MediaType.APPLICATION_JSON).body(record.getResponseBody());
+    }
+
+    private void release(String id) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)
+                .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)), IdempotencyRecord.class);
+    }
+
+    private static String fingerprint(List<?> parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
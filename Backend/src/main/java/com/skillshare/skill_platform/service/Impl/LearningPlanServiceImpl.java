@@ -1,69 +1,114 @@
 package com.skillshare.skill_platform.service.Impl;
 
+import com.skillshare.skill_platform.config.MetricsConfig;
+import com.skillshare.skill_platform.dto.CursorPage;
 import com.skillshare.skill_platform.dto.LearningPlanRQ;
 import com.skillshare.skill_platform.dto.LearningPlanResponse;
+import com.skillshare.skill_platform.dto.LearningPlanSummary;
+import com.skillshare.skill_platform.dto.LearningProgressResponse;
+import com.skillshare.skill_platform.dto.PageCursor;
 import com.skillshare.skill_platform.dto.TopicRq;
 import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.LearningProgress;
 import com.skillshare.skill_platform.entity.Topic;
+import com.skillshare.skill_platform.entity.TopicProgress;
+import com.skillshare.skill_platform.entity.TopicStatus;
+import com.skillshare.skill_platform.exception.BadRequestException;
 import com.skillshare.skill_platform.exception.ResourceNotFoundException;
 import com.skillshare.skill_platform.repository.LearningPlanRepository;
 import com.skillshare.skill_platform.service.LearningPlanService;
+import com.skillshare.skill_platform.service.SuggestService;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.MongoExpression;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @AllArgsConstructor
 public class LearningPlanServiceImpl implements LearningPlanService {
 
+  private static final String CREATED_AT = "createdAt";
+  private static final String TOPICS = "topics";
+  private static final String UPDATED_AT = "updatedAt";
+  private static final String PROGRESS = "progress";
+  private static final int MAX_TOPIC_UPDATE_ATTEMPTS = 5;
+
   private final LearningPlanRepository learningPlanRepository;
+  private final MongoTemplate mongoTemplate;
+  private final SuggestService suggestService;
 
   @Override
   public LearningPlan create(LearningPlanRQ rq, String userId) {
     LearningPlan learningPlan = new LearningPlan();
     BeanUtils.copyProperties(rq, learningPlan);
     learningPlan.setCreatedAt(LocalDateTime.now());
-    List<Topic> topics = rq.getTopics().stream()
-        .map(topicRq -> {
-          Topic topic = new Topic();
-          BeanUtils.copyProperties(topicRq, topic);
-          return topic;
-        })
-        .collect(Collectors.toList());
-    learningPlan.setTopics(topics);
+    learningPlan.setTopics(toTopics(rq.getTopics()));
+    learningPlan.setProgress(TopicProgress.of(learningPlan.getTopics()));
     learningPlan.setUserId(rq.getUserId());
-    return learningPlanRepository.save(learningPlan);
+    LearningPlan saved = learningPlanRepository.save(learningPlan);
+    applyUserProgress(saved.getUserId(), 1, saved.getProgress());
+    suggestService.planChanged(null, saved);
+    return saved;
   }
 
   @Override
-  public List<LearningPlanResponse> getAll() {
-    List<LearningPlan> learningPlans = learningPlanRepository.findAll();
+  public CursorPage<LearningPlanSummary> getPage(String stream, Integer limit, String after) {
+    List<Criteria> filters = new ArrayList<>();
+    if (stream != null && !stream.isBlank()) {
+      filters.add(Criteria.where("stream").is(stream));
+    }
+    return findSummaryPage(filters, limit, after);
+  }
 
-    return learningPlans.stream()
-        .map(learningPlan -> LearningPlanResponse.builder()
-            .id(learningPlan.getId())
-            .learningPlanName(learningPlan.getLearningPlanName())
-            .learningPlanDescription(learningPlan.getLearningPlanDescription())
-            .stream(learningPlan.getStream())
-            .createdAt(learningPlan.getCreatedAt())
-            .userId(learningPlan.getUserId())
-            .topics(
-                learningPlan.getTopics() != null
-                    ? learningPlan.getTopics().stream()
-                    .map(topic -> {
-                      TopicRq topicRq = new TopicRq();
-                      topicRq.setName(topic.getName());
-                      topicRq.setStatus(topic.getStatus());
-                      return topicRq;
-                    })
-                    .toList()
-                    : List.of()
-            )
-            .build())
-        .toList();
+  @Override
+  public LearningPlanResponse getPlan(String learningPlanId) {
+    return learningPlanRepository.findById(learningPlanId)
+        .map(this::toResponse)
+        .orElseThrow(() -> new ResourceNotFoundException(
+            "Not found learning plan with id: " + learningPlanId));
+  }
+
+  // Conditional GETs read only the timestamps, never the topic lists
+  @Override
+  public LocalDateTime getPlanLastModified(String learningPlanId) {
+    Query query = new Query(Criteria.where("_id").is(learningPlanId));
+    query.fields().include(CREATED_AT, UPDATED_AT);
+    LearningPlan plan = mongoTemplate.findOne(query, LearningPlan.class);
+    if (plan == null) {
+      throw new ResourceNotFoundException("Not found learning plan with id: " + learningPlanId);
+    }
+    return lastModified(plan);
+  }
+
+  @Override
+  public String getUserPlansVersion(String userId) {
+    Query query = new Query(Criteria.where("userId").is(userId))
+        .with(Sort.by(Sort.Direction.ASC, "_id"));
+    query.fields().include(CREATED_AT, UPDATED_AT);
+    List<LearningPlan> plans = mongoTemplate.find(query, LearningPlan.class);
+    if (plans.isEmpty()) {
+      throw new ResourceNotFoundException("Not found learning plans for user with id: " + userId);
+    }
+    return plans.stream()
+        .map(plan -> plan.getId() + "@" + lastModified(plan))
+        .collect(Collectors.joining(","));
   }
 
   @Override
@@ -75,40 +120,119 @@ public class LearningPlanServiceImpl implements LearningPlanService {
     }
 
     return learningPlans.stream()
-        .map(learningPlan -> LearningPlanResponse.builder()
-            .id(learningPlan.getId())
-            .learningPlanName(learningPlan.getLearningPlanName())
-            .learningPlanDescription(learningPlan.getLearningPlanDescription())
-            .stream(learningPlan.getStream())
-            .createdAt(learningPlan.getCreatedAt())
-            .userId(learningPlan.getUserId())
-            .topics(
-                learningPlan.getTopics() != null
-                    ? learningPlan.getTopics().stream()
-                    .map(topic -> {
-                      TopicRq topicRq = new TopicRq();
-                      topicRq.setName(topic.getName());
-                      topicRq.setStatus(topic.getStatus());
-                      return topicRq;
-                    })
-                    .toList()
-                    : List.of()
-            )
-            .build())
+        .map(this::toResponse)
         .toList();
   }
 
   @Override
   public LearningPlan updateById(String userId, LearningPlanRQ rq, String learningPlanId) {
-    LearningPlan learningPlan = learningPlanRepository.findByUserIdAndId(userId, learningPlanId)
-        .orElseThrow(
-            () -> new ResourceNotFoundException(
-                "Not found learning plan with id: " + learningPlanId));
+    // Only the fields a PUT carries are written, so a topic PATCH landing meanwhile is kept.
+    // createdAt is the plan's creation time and also its position in the listing order.
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    Update update = new Update()
+        .set("learningPlanName", rq.getLearningPlanName())
+        .set("learningPlanDescription", rq.getLearningPlanDescription())
+        .set("stream", rq.getStream())
+        .set("userId", rq.getUserId())
+        .set(UPDATED_AT, now);
+    List<Topic> topics = rq.getTopics() != null ? toTopics(rq.getTopics()) : null;
+    if (topics != null) {
+      update.set(TOPICS, topics).set(PROGRESS, TopicProgress.of(topics));
+    }
 
-    BeanUtils.copyProperties(rq, learningPlan);
-    learningPlan.setCreatedAt(LocalDateTime.now());
-    learningPlan.setUserId(rq.getUserId());
-    return learningPlanRepository.save(learningPlan);
+    // The plan as it was just before this write is what the user totals move away from
+    LearningPlan previous = mongoTemplate.findAndModify(
+        new Query(Criteria.where("_id").is(learningPlanId).and("userId").is(userId)), update,
+        FindAndModifyOptions.options().returnNew(false), LearningPlan.class);
+    if (previous == null) {
+      throw new ResourceNotFoundException("Not found learning plan with id: " + learningPlanId);
+    }
+
+    LearningPlan saved = new LearningPlan();
+    BeanUtils.copyProperties(previous, saved);
+    BeanUtils.copyProperties(rq, saved, CREATED_AT, TOPICS);
+    if (topics != null) {
+      saved.setTopics(topics);
+    }
+    saved.setProgress(TopicProgress.of(saved.getTopics()));
+    saved.setUpdatedAt(now);
+
+    TopicProgress previousProgress = TopicProgress.of(previous.getTopics());
+    if (Objects.equals(previous.getUserId(), saved.getUserId())) {
+      applyUserProgress(saved.getUserId(), 0, saved.getProgress().minus(previousProgress));
+    } else {
+      applyUserProgress(previous.getUserId(), -1, new TopicProgress().minus(previousProgress));
+      applyUserProgress(saved.getUserId(), 1, saved.getProgress());
+    }
+    suggestService.planChanged(previous, saved);
+    return saved;
+  }
+
+  @Override
+  public Topic updateTopic(String userId, String learningPlanId, int topicIndex, TopicRq rq) {
+    if (topicIndex < 0) {
+      throw new BadRequestException("Topic index must not be negative");
+    }
+    if (rq.getName() == null && rq.getStatus() == null) {
+      throw new BadRequestException("Nothing to update: provide a name or a status");
+    }
+
+    String topicPath = TOPICS + "." + topicIndex;
+    for (int attempt = 0; attempt < MAX_TOPIC_UPDATE_ATTEMPTS; attempt++) {
+      Topic current = findTopic(userId, learningPlanId, topicIndex);
+      TopicStatus from = current.getStatus();
+
+      Criteria criteria = Criteria.where("_id").is(learningPlanId)
+          .and("userId").is(userId)
+          .and(topicPath).exists(true);
+      Update update = new Update().currentDate(UPDATED_AT);
+      if (rq.getName() != null) {
+        update.set(topicPath + ".name", rq.getName());
+      }
+      TopicProgress delta = new TopicProgress();
+      if (rq.getStatus() != null) {
+        update.set(topicPath + ".status", rq.getStatus());
+        // The plan's counters move in the same write, guarded on the status they were derived from
+        criteria.and(topicPath + ".status").is(from);
+        delta = TopicProgress.transition(from, rq.getStatus());
+        incrementProgress(update, PROGRESS, delta);
+      }
+
+      // Only the addressed array element is written, and only that element is read back
+      Query query = new Query(criteria);
+      query.fields().slice(TOPICS, topicIndex, 1);
+      LearningPlan updated = mongoTemplate.findAndModify(query, update,
+          FindAndModifyOptions.options().returnNew(true), LearningPlan.class);
+      if (updated != null && !updated.getTopics().isEmpty()) {
+        applyUserProgress(userId, 0, delta);
+        if (rq.getName() != null) {
+          suggestService.topicRenamed(current.getName(), rq.getName());
+        }
+        return updated.getTopics().get(0);
+      }
+    }
+    throw new OptimisticLockingFailureException("Topic " + topicIndex
+        + " of learning plan " + learningPlanId + " is being updated concurrently");
+  }
+
+  @Override
+  public LearningProgressResponse getProgress(String userId, Integer limit, String after) {
+    LearningProgress progress = mongoTemplate.findById(userId, LearningProgress.class);
+    if (progress == null) {
+      progress = new LearningProgress();
+      progress.setUserId(userId);
+    }
+
+    List<Criteria> filters = new ArrayList<>();
+    filters.add(Criteria.where("userId").is(userId));
+    CursorPage<LearningPlanSummary> page = findSummaryPage(filters, limit, after);
+    return LearningProgressResponse.builder()
+        .userId(userId)
+        .planCount(progress.getPlanCount())
+        .totals(progress.getTotals())
+        .plans(page.getItems())
+        .nextCursor(page.getNextCursor())
+        .build();
   }
 
   @Override
@@ -118,5 +242,110 @@ public class LearningPlanServiceImpl implements LearningPlanService {
             "Not found learning plan with id: " + learningPlanId));
 
     learningPlanRepository.delete(learningPlan);
+    suggestService.planChanged(learningPlan, null);
+    applyUserProgress(learningPlan.getUserId(), -1,
+        new TopicProgress().minus(TopicProgress.of(learningPlan.getTopics())));
+  }
+
+  private Topic findTopic(String userId, String learningPlanId, int topicIndex) {
+    Query query = new Query(Criteria.where("_id").is(learningPlanId).and("userId").is(userId));
+    query.fields().slice(TOPICS, topicIndex, 1);
+    LearningPlan plan = mongoTemplate.findOne(query, LearningPlan.class);
+    if (plan == null || plan.getTopics() == null || plan.getTopics().isEmpty()) {
+      throw new ResourceNotFoundException("Not found topic " + topicIndex
+          + " in learning plan with id: " + learningPlanId);
+    }
+    return plan.getTopics().get(0);
+  }
+
+  // Newest first, keyed on (createdAt, _id) so the cursor stays stable while plans are added
+  private CursorPage<LearningPlanSummary> findSummaryPage(List<Criteria> filters, Integer limit,
+      String after) {
+    int pageSize = PageCursor.pageSize(limit);
+    PageCursor cursor = PageCursor.decode(after);
+    if (cursor != null) {
+      LocalDateTime createdAt = LocalDateTime.ofInstant(cursor.getTimestamp().toInstant(),
+          ZoneId.systemDefault());
+      filters.add(new Criteria().orOperator(
+          Criteria.where(CREATED_AT).lt(createdAt),
+          Criteria.where(CREATED_AT).is(createdAt).and("_id").lt(cursor.idValue())));
+    }
+
+    Query query = filters.isEmpty()
+        ? new Query()
+        : new Query(new Criteria().andOperator(filters));
+    query.with(Sort.by(Sort.Direction.DESC, CREATED_AT, "_id"))
+        // Fetch one extra row to learn whether another page exists
+        .limit(pageSize + 1);
+    return CursorPage.of(findSummaries(query), pageSize, plan -> PageCursor.of(
+        Date.from(plan.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()), plan.getId()));
+  }
+
+  // Summary rows: everything but the topic list, which is reduced to its size
+  private List<LearningPlanSummary> findSummaries(Query query) {
+    query.fields()
+        .include("learningPlanName", "learningPlanDescription", "stream", CREATED_AT, UPDATED_AT,
+            "userId", PROGRESS)
+        .project(MongoExpression.create("{ $size: { $ifNull: ['$topics', []] } }")).as("topicCount");
+    return mongoTemplate.find(query, LearningPlanSummary.class,
+        mongoTemplate.getCollectionName(LearningPlan.class));
+  }
+
+  private void applyUserProgress(String userId, int planDelta, TopicProgress delta) {
+    if (userId == null) {
+      return;
+    }
+    Update update = new Update().inc("planCount", planDelta);
+    incrementProgress(update, "totals", delta);
+    mongoTemplate.upsert(new Query(Criteria.where("_id").is(userId)), update,
+        LearningProgress.class);
+  }
+
+  private static void incrementProgress(Update update, String prefix, TopicProgress delta) {
+    update.inc(prefix + ".pending", delta.getPending())
+        .inc(prefix + ".inProgress", delta.getInProgress())
+        .inc(prefix + ".completed", delta.getCompleted());
+  }
+
+  // Plans saved before updatedAt existed fall back to their creation time
+  private static LocalDateTime lastModified(LearningPlan plan) {
+    return plan.getUpdatedAt() != null ? plan.getUpdatedAt() : plan.getCreatedAt();
+  }
+
+  private List<Topic> toTopics(List<TopicRq> topicRqs) {
+    if (topicRqs == null) {
+      return new ArrayList<>();
+    }
+    return topicRqs.stream()
+        .map(topicRq -> {
+          Topic topic = new Topic();
+          BeanUtils.copyProperties(topicRq, topic);
+          return topic;
+        })
+        .collect(Collectors.toList());
+  }
+
+  private LearningPlanResponse toResponse(LearningPlan learningPlan) {
+    return LearningPlanResponse.builder()
+        .id(learningPlan.getId())
+        .learningPlanName(learningPlan.getLearningPlanName())
+        .learningPlanDescription(learningPlan.getLearningPlanDescription())
+        .stream(learningPlan.getStream())
+        .createdAt(learningPlan.getCreatedAt())
+        .updatedAt(learningPlan.getUpdatedAt())
+        .userId(learningPlan.getUserId())
+        .topics(
+            learningPlan.getTopics() != null
+                ? learningPlan.getTopics().stream()
+                .map(topic -> {
+                  TopicRq topicRq = new TopicRq();
+                  topicRq.setName(topic.getName());
+                  topicRq.setStatus(topic.getStatus());
+                  return topicRq;
+                })
+                .toList()
+                : List.of()
+        )
+        .build();
   }
 }
@@ -0,0 +1,175 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.skillshare.skill_platform.entity.Post;
+import com.skillshare.skill_platform.service.LikeCountAggregator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.MongoExpression;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind buffer for Post.likeCount.
+ *
+ * Likes on the same post add to a striped LongAdder instead of each issuing an $inc
+ * against one hot document. Every flush swaps the buffer out and writes all non-zero
+ * deltas as one unordered bulk of updates, each adding its delta with a floor at zero.
+ * A crash loses at most the deltas of one flush interval, for at most max-pending-posts
+ * posts; the like documents themselves are written synchronously, so membership is
+ * always exact. Off by default: enable it for deployments with hot posts.
+ */
+@Slf4j
+@Service
+public class LikeCountAggregatorImpl implements LikeCountAggregator {
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int maxPendingPosts;
+
+    // Recorders and readers share the read lock; a flush takes the write lock only to swap buffers
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Object flushMonitor = new Object();
+
+    private volatile ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+    private volatile Map<String, LongAdder> flushing = Map.of();
+
+    public LikeCountAggregatorImpl(MongoTemplate mongoTemplate,
+                                   @Value("${app.likes.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${app.likes.write-behind.max-pending-posts:10000}") int maxPendingPosts) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.maxPendingPosts = maxPendingPosts;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void record(String postId, long delta) {
+        int pendingPosts = add(postId, delta);
+        if (pendingPosts >= maxPendingPosts) {
+            // Bound the state a crash could lose; the caller pays for this flush
+            flush();
+        }
+    }
+
+    @Override
+    public long pendingDelta(String postId) {
+        // Both buffers are read under one lock, so a delta moving between them is counted once
+        swapLock.readLock().lock();
+        try {
+            long delta = 0;
+            LongAdder buffered = pending.get(postId);
+            if (buffered != null) {
+                delta += buffered.sum();
+            }
+            LongAdder inFlight = flushing.get(postId);
+            if (inFlight != null) {
+                delta += inFlight.sum();
+            }
+            return delta;
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.likes.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        synchronized (flushMonitor) {
+            ConcurrentHashMap<String, LongAdder> batch;
+            swapLock.writeLock().lock();
+            try {
+                batch = pending;
+                if (batch.isEmpty()) {
+                    return;
+                }
+                flushing = batch;
+                pending = new ConcurrentHashMap<>();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            List<String> postIds = new ArrayList<>();
+            List<Long> deltas = new ArrayList<>();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+            batch.forEach((postId, adder) -> {
+                long delta = adder.sum();
+                if (delta != 0) {
+                    bulk.updateOne(Query.query(Criteria.where("id").is(postId)), applyDelta(delta));
+                    postIds.add(postId);
+                    deltas.add(delta);
+                }
+            });
+
+            // Once written, the deltas are part of the stored count and must stop being added on read;
+            // failed ones move back to the pending buffer in the same swap that empties the in-flight one
+            List<Integer> failed = new ArrayList<>();
+            try {
+                if (!postIds.isEmpty()) {
+                    bulk.execute();
+                }
+            } catch (BulkOperationException e) {
+                log.warn("Like count flush partially failed: {} of {}", e.getErrors().size(), postIds.size());
+                e.getErrors().forEach(error -> failed.add(error.getIndex()));
+            } catch (RuntimeException e) {
+                log.warn("Like count flush failed, re-queueing {} posts: {}", postIds.size(), e.getMessage());
+                for (int i = 0; i < postIds.size(); i++) {
+                    failed.add(i);
+                }
+            }
+
+            swapLock.writeLock().lock();
+            try {
+                for (int i : failed) {
+                    pending.computeIfAbsent(postIds.get(i), key -> new LongAdder()).add(deltas.get(i));
+                }
+                flushing = Map.of();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Unlikes buffered against a count that is already stale must not take it below zero
+    private static AggregationUpdate applyDelta(long delta) {
+        return AggregationUpdate.update()
+                .set("likeCount").toValue(AggregationExpression.from(MongoExpression.create(
+                        "{ $max: [0, { $add: [{ $ifNull: ['$likeCount', 0] }, ?0] }] }", delta)))
+                .set("updatedAt").toValue("$$NOW");
+    }
+
+    private int add(String postId, long delta) {
+        swapLock.readLock().lock();
+        try {
+            ConcurrentHashMap<String, LongAdder> buffer = pending;
+            buffer.computeIfAbsent(postId, key -> new LongAdder()).add(delta);
+            return buffer.size();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.mongodb.client.result.DeleteResult;
+import com.skillshare.skill_platform.config.MetricsConfig;
+import com.skillshare.skill_platform.entity.MediaAsset;
+import com.skillshare.skill_platform.service.CloudinaryService;
+import com.skillshare.skill_platform.service.MediaAssetService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+
+/**
+ * Deduplicates uploads through the "media_assets" registry. A file is hashed in one
+ * streaming pass before anything is sent to Cloudinary; if its hash is already registered
+ * the existing asset is reused and the upload is skipped.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class MediaAssetServiceImpl implements MediaAssetService {
+
+    // A registry entry with refCount 0 is being removed by release(); retry until it is gone
+    private static final int MAX_REGISTER_ATTEMPTS = 5;
+
+    // Tagged outcome=uploaded|deduplicated|failed
+    private static final String UPLOADS_METRIC = "skillshare.media.uploads";
+
+    @Autowired
+    private CloudinaryService cloudinaryService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public MediaAsset acquire(MultipartFile file, String folderName) {
+        cloudinaryService.validate(file.getSize(), file.getContentType());
+
+        Path tempFile = null;
+        try {
+            // Hash straight from the spooled part, so a duplicate never gets copied anywhere
+            String hash;
+            try (InputStream in = file.getInputStream()) {
+                hash = sha256(in);
+            }
+            MediaAsset existing = reuse(hash);
+            if (existing != null) {
+                countUpload("deduplicated");
+                return existing;
+            }
+
+            tempFile = Files.createTempFile("upload-", ".bin");
+            file.transferTo(tempFile);
+            return register(hash, tempFile.toFile(), file.getContentType(), folderName);
+        } catch (IOException e) {
+            log.error("Could not read upload {}", file.getOriginalFilename(), e);
+            countUpload("failed");
+            return null;
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    @Override
+    public MediaAsset acquire(File file, String contentType, String folderName) {
+        try {
+            String hash;
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                hash = sha256(in);
+            }
+            MediaAsset existing = reuse(hash);
+            if (existing != null) {
+                countUpload("deduplicated");
+                return existing;
+            }
+            return register(hash, file, contentType, folderName);
+        } catch (IOException e) {
+            log.error("Could not read media file {}", file, e);
+            countUpload("failed");
+            return null;
+        }
+    }
+
+    @Override
+    public void release(String hash) {
+        if (hash == null) {
+            return;
+        }
+        MediaAsset asset = mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(hash)),
+                new Update().inc("refCount", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                MediaAsset.class);
+        if (asset == null || asset.getRefCount() > 0) {
+            return;
+        }
+
+        // Only the release that removes the entry destroys the file; reuse() never revives a zero count
+        DeleteResult removed = mongoTemplate.remove(Query.query(Criteria.where("id").is(hash)
+                .and("refCount").lte(0)), MediaAsset.class);
+        if (removed.getDeletedCount() > 0) {
+            cloudinaryService.destroy(asset.getPublicId(), asset.getResourceType());
+        }
+    }
+
+    /**
+     * Takes a reference on a live registry entry, or returns null if there is none.
+     */
+    private MediaAsset reuse(String hash) {
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(hash).and("refCount").gt(0)),
+                new Update().inc("refCount", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                MediaAsset.class);
+    }
+
+    /**
+     * Uploads the file and registers it with one reference. When a concurrent request
+     * registered the same content first, that asset wins and this upload is destroyed.
+     */
+    private MediaAsset register(String hash, File file, String contentType, String folderName) {
+        MediaAsset uploaded = cloudinaryService.uploadAsset(file, contentType, folderName);
+        if (uploaded == null) {
+            countUpload("failed");
+            return null;
+        }
+        countUpload("uploaded");
+        uploaded.setId(hash);
+        uploaded.setRefCount(1);
+        uploaded.setCreatedAt(new Date());
+
+        for (int attempt = 1; attempt <= MAX_REGISTER_ATTEMPTS; attempt++) {
+            try {
+                return mongoTemplate.insert(uploaded);
+            } catch (DuplicateKeyException e) {
+                MediaAsset existing = reuse(hash);
+                if (existing != null) {
+                    cloudinaryService.destroy(uploaded.getPublicId(), uploaded.getResourceType());
+                    return existing;
+                }
+            }
+        }
+
+        // Still contended: keep the upload but leave it out of the registry
+        log.warn("Could not register media asset {}, storing it unshared", hash);
+        uploaded.setId(null);
+        return uploaded;
+    }
+
+    private void countUpload(String outcome) {
+        meterRegistry.counter(UPLOADS_METRIC, "outcome", outcome).increment();
+    }
+
+    private static String sha256(InputStream in) throws IOException {
+        try {
+            DigestInputStream digestIn = new DigestInputStream(in, MessageDigest.getInstance("SHA-256"));
+            digestIn.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(digestIn.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temp upload file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.mongodb.client.result.UpdateResult;
+import com.skillshare.skill_platform.config.MdcTaskDecorator;
+import com.skillshare.skill_platform.entity.MediaAsset;
+import com.skillshare.skill_platform.entity.MediaStatus;
+import com.skillshare.skill_platform.entity.Post;
+import com.skillshare.skill_platform.service.MediaAssetService;
+import com.skillshare.skill_platform.service.MediaUploadService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uploads a post's media after the post has been saved with mediaStatus PENDING.
+ * Transient failures are retried with exponential backoff; the post ends up READY with
+ * its url set, or FAILED with the last error. Waiting for a retry holds no upload worker:
+ * the next attempt is scheduled and queued on the upload executor again when it is due.
+ */
+@Slf4j
+@Service
+public class MediaUploadServiceImpl implements MediaUploadService {
+
+    // cloudinary-http44 reports responses it has no error body for (gateway errors) with this message
+    private static final String UNEXPECTED_STATUS = "Server returned unexpected status code";
+    private static final String STAGED_FILE_PREFIX = "media-";
+
+    private final MediaAssetService mediaAssetService;
+    private final MongoTemplate mongoTemplate;
+    private final TaskExecutor mediaUploadExecutor;
+    // Owned by this app alone, so the sweep never touches another process's files
+    private final Path stagingDir;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "media-upload-retry");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private final MdcTaskDecorator mdcTaskDecorator = new MdcTaskDecorator();
+
+    @Value("${app.media.upload.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.media.upload.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    // Longer than any upload with all of its retries; older PENDING posts were abandoned
+    @Value("${app.media.upload.stale-after:PT30M}")
+    private Duration staleAfter;
+
+    public MediaUploadServiceImpl(MediaAssetService mediaAssetService, MongoTemplate mongoTemplate,
+                                  @Qualifier("mediaUploadExecutor") TaskExecutor mediaUploadExecutor,
+                                  @Value("${app.media.upload.staging-dir:${java.io.tmpdir}/skillshare-media-staging}")
+                                  Path stagingDir) throws IOException {
+        this.mediaAssetService = mediaAssetService;
+        this.mongoTemplate = mongoTemplate;
+        this.mediaUploadExecutor = mediaUploadExecutor;
+        this.stagingDir = Files.createDirectories(stagingDir);
+    }
+
+    @Override
+    public Path createStagedFile() throws IOException {
+        return Files.createTempFile(stagingDir, STAGED_FILE_PREFIX, ".bin");
+    }
+
+    @Override
+    public void submit(String postId, Path file, String contentType) {
+        dispatch(postId, file, contentType, 1);
+    }
+
+    /**
+     * Marks posts whose upload was lost, e.g. to a restart, as FAILED and removes staged
+     * files that no upload will pick up again. Runs shortly after startup and then periodically.
+     */
+    @Scheduled(initialDelayString = "${app.media.upload.sweep-initial-delay-ms:60000}",
+            fixedDelayString = "${app.media.upload.sweep-interval-ms:600000}")
+    public void sweepAbandonedUploads() {
+        Instant cutoff = Instant.now().minus(staleAfter);
+        UpdateResult failed = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("mediaStatus").is(MediaStatus.PENDING).and("date").lt(Date.from(cutoff))),
+                new Update().set("mediaStatus", MediaStatus.FAILED).set("mediaError", "Upload was interrupted")
+                        .currentDate("updatedAt"),
+                Post.class);
+        if (failed.getModifiedCount() > 0) {
+            log.warn("Marked {} abandoned media uploads as failed", failed.getModifiedCount());
+        }
+
+        try (DirectoryStream<Path> staged = Files.newDirectoryStream(stagingDir, STAGED_FILE_PREFIX + "*")) {
+            for (Path file : staged) {
+                if (Files.getLastModifiedTime(file).compareTo(FileTime.from(cutoff)) < 0) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not sweep staged media files in {}: {}", stagingDir, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Pending retries are dropped; their posts are failed by the next sweep
+        retryScheduler.shutdownNow();
+    }
+
+    // The pool rejects work once its queue is full
+    private void dispatch(String postId, Path file, String contentType, int attempt) {
+        try {
+            mediaUploadExecutor.execute(() -> upload(postId, file, contentType, attempt));
+        } catch (RejectedExecutionException e) {
+            markFailed(postId, "Upload queue is full, please retry later");
+            deleteQuietly(file);
+        }
+    }
+
+    private void upload(String postId, Path file, String contentType, int attempt) {
+        String error;
+        boolean retryable;
+        try {
+            MediaAsset asset = mediaAssetService.acquire(file.toFile(), contentType, "posts");
+            if (asset != null) {
+                try {
+                    complete(postId, asset);
+                } catch (RuntimeException e) {
+                    // The next attempt acquires the asset again, so this reference must go
+                    mediaAssetService.release(asset.getId());
+                    throw e;
+                }
+                deleteQuietly(file);
+                return;
+            }
+            // The upload did not get through (network or I/O error)
+            error = "Upload failed";
+            retryable = true;
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            retryable = isTransient(e);
+        }
+
+        log.warn("Media upload attempt {} failed postId={}: {}", attempt, postId, error);
+        if (retryable && attempt < maxAttempts) {
+            long backoffMs = initialBackoffMs << (attempt - 1);
+            retryScheduler.schedule(mdcTaskDecorator.decorate(() -> dispatch(postId, file, contentType, attempt + 1)),
+                    backoffMs, TimeUnit.MILLISECONDS);
+            return;
+        }
+        markFailed(postId, error);
+        deleteQuietly(file);
+    }
+
+    private void complete(String postId, MediaAsset asset) {
+        UpdateResult result = mongoTemplate.updateFirst(pendingById(postId),
+                new Update().set("url", asset.getUrl()).set("mediaHash", asset.getId())
+                        .set("mediaStatus", MediaStatus.READY).unset("mediaError")
+                        .currentDate("updatedAt"),
+                Post.class);
+        if (result.getMatchedCount() == 0) {
+            // The post was deleted, or given other media, while this upload ran
+            mediaAssetService.release(asset.getId());
+        }
+    }
+
+    // Validation failures and errors Cloudinary answered with (bad file, bad credentials) are final
+    private static boolean isTransient(RuntimeException e) {
+        if (e instanceof TransientDataAccessException || e instanceof DataAccessResourceFailureException) {
+            return true;
+        }
+        return e.getMessage() != null && e.getMessage().startsWith(UNEXPECTED_STATUS);
+    }
+
+    private void markFailed(String postId, String error) {
+        mongoTemplate.updateFirst(pendingById(postId),
+                new Update().set("mediaStatus", MediaStatus.FAILED).set("mediaError", error)
+                        .currentDate("updatedAt"),
+                Post.class);
+    }
+
+    // Results only land on a post still waiting for them
+    private Query pendingById(String postId) {
+        return Query.query(Criteria.where("id").is(postId).and("mediaStatus").is(MediaStatus.PENDING));
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temp media file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -1,41 +1,110 @@
 package com.skillshare.skill_platform.service.Impl;
 
+import com.skillshare.skill_platform.config.MetricsConfig;
+import com.skillshare.skill_platform.config.SamplingTurboFilter;
+import com.skillshare.skill_platform.dto.CursorPage;
+import com.skillshare.skill_platform.dto.PageCursor;
 import com.skillshare.skill_platform.dto.PostRequest;
-import com.skillshare.skill_platform.entity.Post;
+import com.skillshare.skill_platform.dto.PostSummary;
+import com.skillshare.skill_platform.dto.PostVersion;
 import com.skillshare.skill_platform.entity.Like;
+import com.skillshare.skill_platform.entity.MediaAsset;
+import com.skillshare.skill_platform.entity.MediaStatus;
+import com.skillshare.skill_platform.entity.Post;
+import com.skillshare.skill_platform.entity.SavedPost;
+import com.skillshare.skill_platform.exception.BadRequestException;
+import com.skillshare.skill_platform.exception.ResourceNotFoundException;
+import com.skillshare.skill_platform.repository.LikeRepository;
 import com.skillshare.skill_platform.repository.PostRepository;
+import com.skillshare.skill_platform.repository.SavedPostRepository;
 import com.skillshare.skill_platform.service.CloudinaryService;
+import com.skillshare.skill_platform.service.LikeCountAggregator;
+import com.skillshare.skill_platform.service.MediaAssetService;
+import com.skillshare.skill_platform.service.MediaUploadService;
 import com.skillshare.skill_platform.service.PostService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.MongoExpression;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.ArrayList;
 
+@Slf4j
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class PostServiceImpl implements PostService {
 
+    private static final String LIKE_COUNT = "likeCount";
+    private static final String SAVE_COUNT = "saveCount";
+    private static final String UPDATED_AT = "updatedAt";
+    private static final String LIKES_METRIC = "skillshare.post.likes";
+    private static final String SAVES_METRIC = "skillshare.post.saves";
+
     @Autowired
     private CloudinaryService cloudinaryService;
 
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private SavedPostRepository savedPostRepository;
+
+    @Autowired
+    private LikeCountAggregator likeCountAggregator;
+
+    @Autowired
+    private MediaUploadService mediaUploadService;
+
+    @Autowired
+    private MediaAssetService mediaAssetService;
+
+    @Value("${app.media.async-upload.enabled:false}")
+    private boolean asyncUploadByDefault;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     public ResponseEntity<Map> createPost(PostRequest postRequest) {
         try {
-            System.out.println("Creating new post: " + postRequest);
+            log.debug("Creating post userId={}", postRequest.getUserId());
             
             if (postRequest.getDescription() == null || postRequest.getDescription().isEmpty()) {
-                System.err.println("Post creation failed: Description is empty");
+                log.debug("Post creation rejected: description is empty");
                 return ResponseEntity.badRequest().body(Map.of("error", "Description cannot be empty"));
             }
             
@@ -45,109 +114,279 @@ public class PostServiceImpl implements PostService {
             
             // Only upload file if it exists
             MultipartFile file = postRequest.getFile();
+            if (file != null && !file.isEmpty() && isAsyncUpload(postRequest)) {
+                return createPostWithPendingMedia(post, file);
+            }
             if (file != null && !file.isEmpty()) {
-                System.out.println("Uploading file: " + file.getOriginalFilename() + " (" + file.getSize() + " bytes)");
-                String uploadedUrl = cloudinaryService.uploadFile(file, "posts");
+                log.debug("Uploading file name={} bytes={}", file.getOriginalFilename(), file.getSize());
+                MediaAsset asset = mediaAssetService.acquire(file, "posts");
                 
-                if (uploadedUrl == null) {
-                    System.err.println("Post creation failed: File upload to Cloudinary failed");
+                if (asset == null) {
+                    log.warn("Post creation failed: media upload to Cloudinary failed");
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                             .body(Map.of("error", "Failed to upload image"));
                 }
                 
-                System.out.println("File upload successful, URL: " + uploadedUrl);
-                post.setUrl(uploadedUrl);
+                log.debug("File upload successful url={}", asset.getUrl());
+                post.setUrl(asset.getUrl());
+                post.setMediaHash(asset.getId());
+                post.setMediaStatus(MediaStatus.READY);
             } else {
-                System.out.println("No file provided for upload");
+                log.debug("No file provided for upload");
+                post.setMediaStatus(MediaStatus.NONE);
             }
             
             post.setDate(new Date());
-            Post savedPost = postRepository.save(post);
+            Post savedPost;
+            try {
+                savedPost = postRepository.save(post);
+            } catch (RuntimeException e) {
+                // No post refers to the media, so give its reference back
+                mediaAssetService.release(post.getMediaHash());
+                throw e;
+            }
             
-            System.out.println("Post created successfully with ID: " + savedPost.getId());
+            log.info("Post created postId={}", savedPost.getId());
             return ResponseEntity.ok().body(Map.of(
                 "message", "Post created successfully",
                 "post", savedPost
             ));
+        } catch (BadRequestException e) {
+            log.debug("Post creation rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
-            System.err.println("Post creation failed with exception: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Post creation failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to create post: " + e.getMessage()));
         }
     }
 
+    private boolean isAsyncUpload(PostRequest postRequest) {
+        return postRequest.getAsync() != null ? postRequest.getAsync() : asyncUploadByDefault;
+    }
+
+    /**
+     * Saves the post straight away with mediaStatus PENDING and hands the upload to the
+     * background executor. The part is moved out of the container's multipart area first,
+     * because that is cleaned up when this request completes.
+     */
+    private ResponseEntity<Map> createPostWithPendingMedia(Post post, MultipartFile file) throws IOException {
+        cloudinaryService.validate(file.getSize(), file.getContentType());
+
+        Path stagedFile = mediaUploadService.createStagedFile();
+        try {
+            file.transferTo(stagedFile);
+            post.setMediaStatus(MediaStatus.PENDING);
+            post.setDate(new Date());
+            Post savedPost = postRepository.save(post);
+
+            mediaUploadService.submit(savedPost.getId(), stagedFile, file.getContentType());
+            log.info("Post created postId={}, media upload queued", savedPost.getId());
+            return ResponseEntity.accepted().body(Map.of(
+                "message", "Post created, media upload in progress",
+                "post", savedPost,
+                "mediaStatusUrl", "/api/posts/" + savedPost.getId() + "/media-status"
+            ));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(stagedFile);
+            throw e;
+        }
+    }
+
     @Override
-    public ResponseEntity<Map> getPost(String postId) {
+    public ResponseEntity<Map> getMediaStatus(String postId) {
         try {
-            Optional<Post> optionalPost = postRepository.findById(postId);
-            if (optionalPost.isPresent()) {
-                Post post = optionalPost.get();
-                return ResponseEntity.ok().body(Map.of("post", post));
-            } else {
+            Query query = new Query(postCriteria(postId));
+            query.fields().include("url", "mediaStatus", "mediaError");
+            Post post = mongoTemplate.findOne(query, Post.class);
+            if (post == null) {
                 return ResponseEntity.notFound().build();
             }
+
+            // Posts created before media states existed are either READY or NONE
+            MediaStatus status = post.getMediaStatus() != null
+                    ? post.getMediaStatus()
+                    : post.getUrl() != null ? MediaStatus.READY : MediaStatus.NONE;
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("postId", postId);
+            body.put("mediaStatus", status);
+            if (post.getUrl() != null) {
+                body.put("url", post.getUrl());
+            }
+            if (post.getMediaError() != null) {
+                body.put("error", post.getMediaError());
+            }
+            return ResponseEntity.ok().body(body);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Media status lookup failed postId={}", postId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
     @Override
-    public ResponseEntity<Map> getAllPosts() {
-        try {
-            List<Post> posts = postRepository.findAll();
-            // Sort posts by date in descending order (newest first)
-            posts.sort((a, b) -> b.getDate().compareTo(a.getDate()));
-            return ResponseEntity.ok().body(Map.of("posts", posts));
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    public PostSummary getPostSummary(String postId, String viewerId) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with ID: " + postId));
+        return toSummaries(List.of(post), viewerId).get(0);
+    }
+
+    /**
+     * Changes whenever the post's representation can: every write sets updatedAt, and
+     * like deltas still buffered by the write-behind aggregator are counted in too.
+     * For a viewer, whether they like and saved the post is part of it as well.
+     * Reads one indexed field, not the post.
+     */
+    @Override
+    public String getPostVersion(String postId, String viewerId) {
+        Query query = new Query(postCriteria(postId));
+        query.fields().include(UPDATED_AT, "date");
+        Document post = mongoTemplate.findOne(query, Document.class, mongoTemplate.getCollectionName(Post.class));
+        if (post == null) {
+            throw new ResourceNotFoundException("Post not found with ID: " + postId);
         }
+        if (viewerId == null) {
+            return version(post, postId);
+        }
+        Query viewerState = Query.query(Criteria.where("postId").is(postId).and("userId").is(viewerId));
+        return version(post, postId) + ":" + mongoTemplate.exists(viewerState, Like.class)
+                + ":" + mongoTemplate.exists(viewerState, SavedPost.class);
+    }
+
+    // The versions of one feed page, from the same (date, _id) index walk without reading the posts
+    @Override
+    public CursorPage<PostVersion> getPostVersions(Integer limit, String after) {
+        int pageSize = PageCursor.pageSize(limit);
+        PageCursor cursor = PageCursor.decode(after);
+        Query query = new Query();
+        if (cursor != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("date").lt(cursor.getTimestamp()),
+                    Criteria.where("date").is(cursor.getTimestamp()).and("_id").lt(cursor.idValue())));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "date", "_id")).limit(pageSize + 1);
+        query.fields().include("userId", "date", UPDATED_AT);
+        CursorPage<Document> page = CursorPage.of(
+                mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Post.class)),
+                pageSize, post -> PageCursor.of(post.getDate("date"), String.valueOf(post.get("_id"))));
+
+        List<PostVersion> versions = new ArrayList<>(page.getItems().size());
+        for (Document post : page.getItems()) {
+            String postId = String.valueOf(post.get("_id"));
+            versions.add(new PostVersion(postId, post.getString("userId"), version(post, postId)));
+        }
+        return new CursorPage<>(versions, page.getNextCursor());
+    }
+
+    // Posts written before updatedAt existed fall back to their creation date
+    private String version(Document post, String postId) {
+        Date modified = post.getDate(UPDATED_AT) != null ? post.getDate(UPDATED_AT) : post.getDate("date");
+        return (modified != null ? modified.getTime() : 0) + ":" + likeCountAggregator.pendingDelta(postId);
+    }
+
+    @Override
+    public CursorPage<PostSummary> getPostSummaries(Integer limit, String after, String viewerId) {
+        CursorPage<Post> page = findPostPage(limit, after);
+        return new CursorPage<>(toSummaries(page.getItems(), viewerId), page.getNextCursor());
+    }
+
+    // In the order given, without viewer flags; posts deleted since are skipped
+    @Override
+    public List<PostSummary> getPostSummaries(List<String> postIds) {
+        return toSummaries(findInOrder(postIds), null);
+    }
+
+    private CursorPage<Post> findPostPage(Integer limit, String after) {
+        int pageSize = PageCursor.pageSize(limit);
+        PageCursor cursor = PageCursor.decode(after);
+        // Fetch one extra row to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Post> posts = cursor == null
+                ? postRepository.findByOrderByDateDescIdDesc(pageable)
+                : postRepository.findFeedPageAfter(cursor.getTimestamp(), cursor.idValue(), pageable);
+        return CursorPage.of(posts, pageSize, post -> PageCursor.of(post.getDate(), post.getId()));
     }
 
     @Override
     public ResponseEntity<Map> updatePost(String postId, PostRequest postRequest) {
         try {
-            System.out.println("Updating post with ID: " + postId);
+            log.debug("Updating post postId={}", postId);
             
-            Optional<Post> optionalPost = postRepository.findById(postId);
-            if (!optionalPost.isPresent()) {
-                System.err.println("Post update failed: Post not found with ID: " + postId);
+            if (!mongoTemplate.exists(new Query(postCriteria(postId)), Post.class)) {
+                log.debug("Post update failed: post not found postId={}", postId);
                 return ResponseEntity.notFound().build();
             }
 
-            Post post = optionalPost.get();
-
+            // Only the fields that change are written, so a background upload finishing
+            // meanwhile is neither overwritten nor left holding a reference
+            Date now = new Date();
+            Update update = new Update().set(UPDATED_AT, now);
             if (postRequest.getDescription() != null && !postRequest.getDescription().isEmpty()) {
-                post.setDescription(postRequest.getDescription());
+                update.set("description", postRequest.getDescription());
             }
 
+            MediaAsset asset = null;
             MultipartFile file = postRequest.getFile();
             if (file != null && !file.isEmpty()) {
-                System.out.println("Uploading new file for post update: " + file.getOriginalFilename());
-                String uploadedUrl = cloudinaryService.uploadFile(file, "posts");
+                log.debug("Uploading new file for post update name={}", file.getOriginalFilename());
+                asset = mediaAssetService.acquire(file, "posts");
                 
-                if (uploadedUrl == null) {
-                    System.err.println("Post update failed: File upload to Cloudinary failed");
+                if (asset == null) {
+                    log.warn("Post update failed: media upload to Cloudinary failed postId={}", postId);
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                             .body(Map.of("error", "Failed to upload image"));
                 }
                 
-                System.out.println("File upload successful for post update, URL: " + uploadedUrl);
-                post.setUrl(uploadedUrl);
+                log.debug("File upload successful for post update url={}", asset.getUrl());
+                update.set("url", asset.getUrl())
+                        .set("mediaHash", asset.getId())
+                        .set("mediaStatus", MediaStatus.READY)
+                        .unset("mediaError");
+            }
+
+            Post previous;
+            try {
+                previous = mongoTemplate.findAndModify(new Query(postCriteria(postId)), update,
+                        FindAndModifyOptions.options().returnNew(false), Post.class);
+            } catch (RuntimeException e) {
+                if (asset != null) {
+                    mediaAssetService.release(asset.getId());
+                }
+                throw e;
+            }
+            if (previous == null) {
+                // Deleted while the media was uploading
+                if (asset != null) {
+                    mediaAssetService.release(asset.getId());
+                }
+                return ResponseEntity.notFound().build();
             }
 
-            Post updatedPost = postRepository.save(post);
-            System.out.println("Post updated successfully: " + updatedPost.getId());
+            Post updatedPost = previous;
+            if (postRequest.getDescription() != null && !postRequest.getDescription().isEmpty()) {
+                updatedPost.setDescription(postRequest.getDescription());
+            }
+            if (asset != null) {
+                // The replaced media is only dropped once no post refers to it. A PENDING
+                // upload that completes later finds the post no longer PENDING and releases its own
+                mediaAssetService.release(previous.getMediaHash());
+                updatedPost.setUrl(asset.getUrl());
+                updatedPost.setMediaHash(asset.getId());
+                updatedPost.setMediaStatus(MediaStatus.READY);
+                updatedPost.setMediaError(null);
+            }
+            updatedPost.setUpdatedAt(now);
+            log.info("Post updated postId={}", updatedPost.getId());
             
             return ResponseEntity.ok().body(Map.of(
                 "message", "Post updated successfully",
                 "post", updatedPost
             ));
+        } catch (BadRequestException e) {
+            log.debug("Post update rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
-            System.err.println("Post update failed with exception: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Post update failed postId={}", postId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to update post: " + e.getMessage()));
         }
@@ -159,12 +398,15 @@ public class PostServiceImpl implements PostService {
             Optional<Post> optionalPost = postRepository.findById(postId);
             if (optionalPost.isPresent()) {
                 postRepository.deleteById(postId);
+                likeRepository.deleteByPostId(postId);
+                savedPostRepository.deleteByPostId(postId);
+                mediaAssetService.release(optionalPost.get().getMediaHash());
                 return ResponseEntity.ok().body(Map.of("message", "Post deleted successfully"));
             } else {
                 return ResponseEntity.notFound().build();
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Post delete failed postId={}", postId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -172,39 +414,42 @@ public class PostServiceImpl implements PostService {
     @Override
     public ResponseEntity<Map> likePost(String postId, String userId) {
         try {
-            Optional<Post> optionalPost = postRepository.findById(postId);
-            if (optionalPost.isPresent()) {
-                Post post = optionalPost.get();
-                
-                // Check if user already liked this post
-                boolean alreadyLiked = post.getLikes().stream()
-                    .anyMatch(like -> like.getUserId().equals(userId));
-                
-                if (!alreadyLiked) {
-                    Like like = new Like();
-                    like.setId(UUID.randomUUID().toString());
-                    like.setPostId(postId);
-                    like.setUserId(userId);
-                    like.setCreatedAt(new Date());
-                    
-                    post.getLikes().add(like);
-                    Post updatedPost = postRepository.save(post);
-                    
-                    return ResponseEntity.ok().body(Map.of(
-                        "message", "Post liked successfully",
-                        "post", updatedPost
-                    ));
-                } else {
-                    return ResponseEntity.ok().body(Map.of(
-                        "message", "Post already liked by this user",
-                        "post", post
-                    ));
+            Like like = new Like();
+            like.setPostId(postId);
+            like.setUserId(userId);
+            like.setCreatedAt(new Date());
+
+            // The unique (postId, userId) index decides which concurrent like wins;
+            // only the winner bumps the counter
+            boolean changed;
+            try {
+                likeRepository.insert(like);
+                changed = true;
+            } catch (DuplicateKeyException e) {
+                changed = false;
+            }
+
+            Long likeCount = changed ? applyLikeDelta(postId, 1) : currentLikeCount(postId);
+            if (likeCount == null) {
+                if (changed) {
+                    likeRepository.delete(like);
                 }
-            } else {
                 return ResponseEntity.notFound().build();
             }
+
+            if (changed) {
+                meterRegistry.counter(LIKES_METRIC, "action", "like").increment();
+                log.info(SamplingTurboFilter.SAMPLED, "Post liked postId={} userId={}", postId, userId);
+            }
+
+            return ResponseEntity.ok().body(Map.of(
+                "message", changed ? "Post liked successfully" : "Post already liked by this user",
+                "postId", postId,
+                "likeCount", likeCount,
+                "liked", true
+            ));
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Post like failed postId={} userId={}", postId, userId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -212,26 +457,26 @@ public class PostServiceImpl implements PostService {
     @Override
     public ResponseEntity<Map> unlikePost(String postId, String userId) {
         try {
-            Optional<Post> optionalPost = postRepository.findById(postId);
-            if (optionalPost.isPresent()) {
-                Post post = optionalPost.get();
-                
-                List<Like> updatedLikes = post.getLikes().stream()
-                    .filter(like -> !like.getUserId().equals(userId))
-                    .collect(Collectors.toList());
-                
-                post.setLikes(updatedLikes);
-                Post updatedPost = postRepository.save(post);
-                
-                return ResponseEntity.ok().body(Map.of(
-                    "message", "Post unliked successfully",
-                    "post", updatedPost
-                ));
-            } else {
+            boolean changed = likeRepository.deleteByPostIdAndUserId(postId, userId) > 0;
+
+            Long likeCount = changed ? applyLikeDelta(postId, -1) : currentLikeCount(postId);
+            if (likeCount == null) {
                 return ResponseEntity.notFound().build();
             }
+
+            if (changed) {
+                meterRegistry.counter(LIKES_METRIC, "action", "unlike").increment();
+                log.info(SamplingTurboFilter.SAMPLED, "Post unliked postId={} userId={}", postId, userId);
+            }
+
+            return ResponseEntity.ok().body(Map.of(
+                "message", changed ? "Post unliked successfully" : "Post was not liked by this user",
+                "postId", postId,
+                "likeCount", likeCount,
+                "liked", false
+            ));
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Post unlike failed postId={} userId={}", postId, userId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -239,43 +484,45 @@ public class PostServiceImpl implements PostService {
     @Override
     public ResponseEntity<Map> savePost(String postId, String userId) {
         try {
-            System.out.println("Saving post with ID: " + postId + " for user: " + userId);
-            
-            Optional<Post> optionalPost = postRepository.findById(postId);
-            if (!optionalPost.isPresent()) {
-                System.err.println("Post save failed: Post not found with ID: " + postId);
-                return ResponseEntity.notFound().build();
+            SavedPost save = new SavedPost();
+            save.setUserId(userId);
+            save.setPostId(postId);
+            save.setSavedAt(new Date());
+
+            // Same scheme as likes: the unique (userId, postId) index picks the winner,
+            // and only the winner bumps the post's counter
+            boolean changed;
+            try {
+                savedPostRepository.insert(save);
+                changed = true;
+            } catch (DuplicateKeyException e) {
+                changed = false;
             }
 
-            Post post = optionalPost.get();
-            
-            // Initialize savedByUsers if null
-            if (post.getSavedByUsers() == null) {
-                post.setSavedByUsers(new ArrayList<>());
+            Document counts = changed
+                    ? updateEngagement(postCriteria(postId), new Update().inc(SAVE_COUNT, 1))
+                    : findEngagement(postId);
+            if (counts == null) {
+                if (changed) {
+                    savedPostRepository.delete(save);
+                }
+                log.debug("Post save failed: post not found postId={}", postId);
+                return ResponseEntity.notFound().build();
             }
-            
-            // Check if already saved by this user
-            if (!post.getSavedByUsers().contains(userId)) {
-                post.getSavedByUsers().add(userId);
-                System.out.println("Added user " + userId + " to saved list for post " + postId);
-            } else {
-                System.out.println("Post " + postId + " already saved by user " + userId);
-                return ResponseEntity.ok().body(Map.of(
-                    "message", "Post already saved by this user",
-                    "post", post
-                ));
+
+            if (changed) {
+                meterRegistry.counter(SAVES_METRIC, "action", "save").increment();
+                log.info(SamplingTurboFilter.SAMPLED, "Post saved postId={} userId={}", postId, userId);
             }
-            
-            Post updatedPost = postRepository.save(post);
-            System.out.println("Post saved successfully by user: " + userId);
-            
+
             return ResponseEntity.ok().body(Map.of(
-                "message", "Post saved successfully",
-                "post", updatedPost
+                "message", changed ? "Post saved successfully" : "Post already saved by this user",
+                "postId", postId,
+                "saveCount", counts.get(SAVE_COUNT),
+                "saved", true
             ));
         } catch (Exception e) {
-            System.err.println("Post save failed with exception: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Post save failed postId={} userId={}", postId, userId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to save post: " + e.getMessage()));
         }
@@ -284,50 +531,184 @@ public class PostServiceImpl implements PostService {
     @Override
     public ResponseEntity<Map> unsavePost(String postId, String userId) {
         try {
-            System.out.println("Unsaving post with ID: " + postId + " for user: " + userId);
-            
-            Optional<Post> optionalPost = postRepository.findById(postId);
-            if (!optionalPost.isPresent()) {
-                System.err.println("Post unsave failed: Post not found with ID: " + postId);
-                return ResponseEntity.notFound().build();
+            boolean changed = savedPostRepository.deleteByUserIdAndPostId(userId, postId) > 0;
+            Document counts = changed
+                    ? updateEngagement(postCriteria(postId).and(SAVE_COUNT).gt(0), new Update().inc(SAVE_COUNT, -1))
+                    : null;
+            if (counts == null) {
+                counts = findEngagement(postId);
+                if (counts == null) {
+                    log.debug("Post unsave failed: post not found postId={}", postId);
+                    return ResponseEntity.notFound().build();
+                }
             }
 
-            Post post = optionalPost.get();
-            
-            // Initialize savedByUsers if null
-            if (post.getSavedByUsers() == null) {
-                post.setSavedByUsers(new ArrayList<>());
-                System.out.println("Post " + postId + " not saved by any user");
-                return ResponseEntity.ok().body(Map.of(
-                    "message", "Post was not saved by this user",
-                    "post", post
-                ));
+            if (changed) {
+                meterRegistry.counter(SAVES_METRIC, "action", "unsave").increment();
+                log.info(SamplingTurboFilter.SAMPLED, "Post unsaved postId={} userId={}", postId, userId);
             }
-            
-            // Remove the user from saved list
-            if (post.getSavedByUsers().contains(userId)) {
-                post.getSavedByUsers().remove(userId);
-                System.out.println("Removed user " + userId + " from saved list for post " + postId);
-            } else {
-                System.out.println("Post " + postId + " was not saved by user " + userId);
-                return ResponseEntity.ok().body(Map.of(
-                    "message", "Post was not saved by this user",
-                    "post", post
-                ));
-            }
-            
-            Post updatedPost = postRepository.save(post);
-            System.out.println("Post unsaved successfully by user: " + userId);
-            
+
             return ResponseEntity.ok().body(Map.of(
-                "message", "Post unsaved successfully",
-                "post", updatedPost
+                "message", changed ? "Post unsaved successfully" : "Post was not saved by this user",
+                "postId", postId,
+                "saveCount", counts.get(SAVE_COUNT),
+                "saved", false
             ));
         } catch (Exception e) {
-            System.err.println("Post unsave failed with exception: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Post unsave failed postId={} userId={}", postId, userId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Failed to unsave post: " + e.getMessage()));
         }
     }
+
+    // The total is only counted for the first page; later pages leave it out
+    @Override
+    public ResponseEntity<Map> getPostsByUser(String userId, Integer limit, String after) {
+        int pageSize = PageCursor.pageSize(limit);
+        PageCursor cursor = PageCursor.decode(after);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Post> posts = cursor == null
+                ? postRepository.findByUserIdOrderByDateDescIdDesc(userId, pageable)
+                : postRepository.findPageByUserIdAfter(userId, cursor.getTimestamp(), cursor.idValue(), pageable);
+        CursorPage<Post> page = CursorPage.of(posts, pageSize, post -> PageCursor.of(post.getDate(), post.getId()));
+
+        Map<String, Object> body = new HashMap<>();
+        if (page.getNextCursor() != null) {
+            body.put("nextCursor", page.getNextCursor());
+        }
+        body.put("posts", toSummaries(page.getItems(), null));
+        if (cursor == null) {
+            body.put("total", postRepository.countByUserId(userId));
+        }
+        return ResponseEntity.ok().body(body);
+    }
+
+    @Override
+    public CursorPage<PostSummary> getSavedPosts(String userId, Integer limit, String after) {
+        int pageSize = PageCursor.pageSize(limit);
+        PageCursor cursor = PageCursor.decode(after);
+        // Fetch one extra row to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<SavedPost> saves = cursor == null
+                ? savedPostRepository.findByUserIdOrderBySavedAtDescIdDesc(userId, pageable)
+                : savedPostRepository.findPageByUserIdAfter(userId, cursor.getTimestamp(), cursor.idValue(), pageable);
+        CursorPage<SavedPost> page = CursorPage.of(saves, pageSize,
+                save -> PageCursor.of(save.getSavedAt(), save.getId()));
+
+        // Returned in save order; posts deleted since are skipped
+        List<Post> items = findInOrder(page.getItems().stream().map(SavedPost::getPostId).toList());
+        // The owner is the viewer of their own saved list
+        return new CursorPage<>(toSummaries(items, userId), page.getNextCursor());
+    }
+
+    // One batched lookup, returned in the order of the ids
+    private List<Post> findInOrder(List<String> postIds) {
+        Map<String, Post> posts = new HashMap<>();
+        postRepository.findAllById(postIds).forEach(post -> posts.put(post.getId(), post));
+        return postIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Viewer flags for the whole page come from two batched lookups, not one per post
+    private List<PostSummary> toSummaries(List<Post> posts, String viewerId) {
+        Set<String> liked = Set.of();
+        Set<String> saved = Set.of();
+        if (viewerId != null && !posts.isEmpty()) {
+            List<String> postIds = posts.stream().map(Post::getId).toList();
+            liked = likeRepository.findByUserIdAndPostIdIn(viewerId, postIds).stream()
+                    .map(Like::getPostId)
+                    .collect(Collectors.toSet());
+            saved = savedPostRepository.findByUserIdAndPostIdIn(viewerId, postIds).stream()
+                    .map(SavedPost::getPostId)
+                    .collect(Collectors.toSet());
+        }
+
+        List<PostSummary> summaries = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            summaries.add(PostSummary.builder()
+                    .id(post.getId())
+                    .userId(post.getUserId())
+                    .description(post.getDescription())
+                    .url(post.getUrl())
+                    .mediaStatus(post.getMediaStatus())
+                    .date(post.getDate())
+                    .likeCount(bufferedLikeCount(post.getId(), post.getLikeCount()))
+                    .commentCount(post.getCommentCount())
+                    .saveCount(post.getSaveCount())
+                    .likedByViewer(liked.contains(post.getId()))
+                    .savedByViewer(saved.contains(post.getId()))
+                    .build());
+        }
+        return summaries;
+    }
+
+    /**
+     * Applies a like/unlike to the post's counter and returns the resulting count, or null
+     * when the post does not exist. With write-behind enabled the delta is buffered and
+     * flushed in batches, so the count is the persisted value plus what is still pending.
+     */
+    private Long applyLikeDelta(String postId, long delta) {
+        if (likeCountAggregator.isEnabled()) {
+            Document counts = findEngagement(postId);
+            if (counts == null) {
+                return null;
+            }
+            likeCountAggregator.record(postId, delta);
+            return bufferedLikeCount(postId, likeCount(counts));
+        }
+
+        Criteria criteria = delta < 0 ? postCriteria(postId).and(LIKE_COUNT).gt(0) : postCriteria(postId);
+        Document counts = updateEngagement(criteria, new Update().inc(LIKE_COUNT, delta));
+        if (counts == null) {
+            counts = findEngagement(postId);
+        }
+        return counts != null ? likeCount(counts) : null;
+    }
+
+    private Long currentLikeCount(String postId) {
+        Document counts = findEngagement(postId);
+        if (counts == null) {
+            return null;
+        }
+        return bufferedLikeCount(postId, likeCount(counts));
+    }
+
+    private long likeCount(Document counts) {
+        return ((Number) counts.get(LIKE_COUNT)).longValue();
+    }
+
+    // The stored count plus likes still buffered for write-behind; the flush floors it at zero too
+    private long bufferedLikeCount(String postId, long storedCount) {
+        return Math.max(0, storedCount + likeCountAggregator.pendingDelta(postId));
+    }
+
+    private Criteria postCriteria(String postId) {
+        return Criteria.where("_id").is(ObjectId.isValid(postId) ? new ObjectId(postId) : postId);
+    }
+
+    /**
+     * Applies a guarded single-document update and returns the post's new like/save counts,
+     * or null when the filter did not match (post missing or nothing to change).
+     */
+    private Document updateEngagement(Criteria criteria, Update update) {
+        return mongoTemplate.findAndModify(engagementQuery(criteria), update.currentDate(UPDATED_AT),
+                FindAndModifyOptions.options().returnNew(true),
+                Document.class, mongoTemplate.getCollectionName(Post.class));
+    }
+
+    private Document findEngagement(String postId) {
+        return mongoTemplate.findOne(engagementQuery(postCriteria(postId)),
+                Document.class, mongoTemplate.getCollectionName(Post.class));
+    }
+
+    // Only the engagement counters are read back, never the rest of the post
+    private Query engagementQuery(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields()
+                .project(MongoExpression.create("{ $ifNull: ['$likeCount', 0] }")).as(LIKE_COUNT)
+                .project(MongoExpression.create("{ $ifNull: ['$saveCount', 0] }")).as(SAVE_COUNT);
+        return query;
+    }
 } 
\ No newline at end of file
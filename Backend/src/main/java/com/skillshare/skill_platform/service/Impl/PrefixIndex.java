@@ -0,0 +1,224 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.skillshare.skill_platform.dto.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Case-insensitive prefix index over short strings, each with a popularity weight.
+ *
+ * Terms live in two parallel arrays sorted case-insensitively, so every term that starts
+ * with a prefix sits in one contiguous range found by binary search. A lookup walks that
+ * range with a bounded min-heap to keep the top K by weight. Readers see an immutable
+ * snapshot and never lock. Writers copy the arrays once per batch of changes, which suits
+ * data that is read far more often than it changes.
+ */
+public class PrefixIndex {
+
+    private static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER;
+
+    private record Snapshot(String[] terms, int[] weights) {
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new int[0]);
+
+    // Changes made while load() reads its source; null when no load is running
+    private List<NavigableMap<String, Integer>> changesDuringLoad;
+
+    /**
+     * Rebuilds the index from {@code source} without losing changes made while it is read:
+     * they are applied again on top of the loaded weights. A change that the source already
+     * reflects is then counted twice, which only nudges its weight.
+     */
+    public void load(Supplier<Map<String, Integer>> source) {
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        Map<String, Integer> weights;
+        try {
+            weights = source.get();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            List<NavigableMap<String, Integer>> changes = changesDuringLoad;
+            changesDuringLoad = null;
+            reset(weights);
+            for (NavigableMap<String, Integer> change : changes) {
+                snapshot = apply(snapshot, change);
+            }
+        }
+    }
+
+    /** Replaces the whole index with the given terms and weights. */
+    public synchronized void reset(Map<String, Integer> weights) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(weights.size());
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            String term = normalize(entry.getKey());
+            if (term != null && entry.getValue() != null && entry.getValue() > 0) {
+                entries.add(Map.entry(term, entry.getValue()));
+            }
+        }
+        entries.sort(Map.Entry.comparingByKey(ORDER));
+
+        String[] sortedTerms = new String[entries.size()];
+        int[] sortedWeights = new int[entries.size()];
+        int size = 0;
+        for (Map.Entry<String, Integer> entry : entries) {
+            // Inputs differing only in case or spacing collapse into one entry
+            if (size > 0 && ORDER.compare(sortedTerms[size - 1], entry.getKey()) == 0) {
+                sortedWeights[size - 1] += entry.getValue();
+            } else {
+                sortedTerms[size] = entry.getKey();
+                sortedWeights[size] = entry.getValue();
+                size++;
+            }
+        }
+        snapshot = new Snapshot(Arrays.copyOf(sortedTerms, size), Arrays.copyOf(sortedWeights, size));
+    }
+
+    public void add(String term) {
+        update(Collections.singletonMap(term, 1));
+    }
+
+    public void remove(String term) {
+        update(Collections.singletonMap(term, -1));
+    }
+
+    public void replace(String oldTerm, String newTerm) {
+        Map<String, Integer> deltas = new HashMap<>(4);
+        deltas.merge(oldTerm, -1, Integer::sum);
+        deltas.merge(newTerm, 1, Integer::sum);
+        update(deltas);
+    }
+
+    /**
+     * Adds each delta to its term's weight in one copy of the index. Terms are matched the
+     * way lookups match them, so deltas for the same term in different case cancel out, and
+     * nothing is copied when every delta does. Terms dropping to zero are removed.
+     */
+    public synchronized void update(Map<String, Integer> deltas) {
+        NavigableMap<String, Integer> normalized = new TreeMap<>(ORDER);
+        for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+            String term = normalize(entry.getKey());
+            if (term != null && entry.getValue() != null) {
+                normalized.merge(term, entry.getValue(), Integer::sum);
+            }
+        }
+        normalized.values().removeIf(delta -> delta == 0);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        snapshot = apply(snapshot, normalized);
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(normalized);
+        }
+    }
+
+    /** Up to {@code limit} terms starting with {@code prefix}, most popular first. */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized == null || limit < 1) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        String[] terms = current.terms();
+        int[] weights = current.weights();
+
+        // Min-heap of indexes: the root is the weakest of the best candidates so far
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1,
+                Comparator.<Integer>comparingInt(i -> weights[i]).thenComparing(i -> terms[i], ORDER.reversed()));
+        for (int i = lowerBound(terms, 0, normalized); i < terms.length && startsWith(terms[i], normalized); i++) {
+            best.offer(i);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        Suggestion[] ranked = new Suggestion[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            int index = best.poll();
+            ranked[i] = new Suggestion(terms[index], weights[index]);
+        }
+        return Arrays.asList(ranked);
+    }
+
+    public int size() {
+        return snapshot.terms().length;
+    }
+
+    // Merges sorted, non-zero deltas into the sorted arrays
+    private static Snapshot apply(Snapshot current, NavigableMap<String, Integer> deltas) {
+        String[] terms = current.terms();
+        int[] weights = current.weights();
+        String[] mergedTerms = new String[terms.length + deltas.size()];
+        int[] mergedWeights = new int[mergedTerms.length];
+        int size = 0;
+        int next = 0;
+        for (Map.Entry<String, Integer> delta : deltas.entrySet()) {
+            int at = lowerBound(terms, next, delta.getKey());
+            System.arraycopy(terms, next, mergedTerms, size, at - next);
+            System.arraycopy(weights, next, mergedWeights, size, at - next);
+            size += at - next;
+            next = at;
+
+            if (at < terms.length && ORDER.compare(terms[at], delta.getKey()) == 0) {
+                int weight = weights[at] + delta.getValue();
+                if (weight > 0) {
+                    mergedTerms[size] = terms[at];
+                    mergedWeights[size] = weight;
+                    size++;
+                }
+                next++;
+            } else if (delta.getValue() > 0) {
+                mergedTerms[size] = delta.getKey();
+                mergedWeights[size] = delta.getValue();
+                size++;
+            }
+        }
+        System.arraycopy(terms, next, mergedTerms, size, terms.length - next);
+        System.arraycopy(weights, next, mergedWeights, size, terms.length - next);
+        size += terms.length - next;
+        return new Snapshot(Arrays.copyOf(mergedTerms, size), Arrays.copyOf(mergedWeights, size));
+    }
+
+    private static int lowerBound(String[] terms, int from, String prefix) {
+        int low = from;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(terms[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean startsWith(String term, String prefix) {
+        return term.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    // Trimmed, with inner whitespace collapsed; null when nothing is left
+    private static String normalize(String term) {
+        if (term == null) {
+            return null;
+        }
+        String normalized = term.trim().replaceAll("\\s+", " ");
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
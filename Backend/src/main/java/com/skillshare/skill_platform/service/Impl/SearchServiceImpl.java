@@ -0,0 +1,192 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.skillshare.skill_platform.config.MetricsConfig;
+import com.skillshare.skill_platform.dto.PageCursor;
+import com.skillshare.skill_platform.dto.SearchHit;
+import com.skillshare.skill_platform.dto.SearchResults;
+import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.Post;
+import com.skillshare.skill_platform.exception.BadRequestException;
+import com.skillshare.skill_platform.service.SearchService;
+import io.micrometer.core.annotation.Timed;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class SearchServiceImpl implements SearchService {
+
+    // Text results can only be paged by offset; deep offsets rescan every skipped match
+    private static final int MAX_PAGE = 50;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int SNIPPET_LEAD = 40;
+    private static final String SCORE = "score";
+    // Longest first, so "es" is tried before "s"
+    private static final List<String> STEM_SUFFIXES = List.of("ing", "ed", "es", "s");
+    private static final int MIN_STEM_LENGTH = 4;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public SearchResults search(String query, String type, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("q must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("q must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0 || pageNumber > MAX_PAGE) {
+            throw new BadRequestException("page must be between 0 and " + MAX_PAGE);
+        }
+        int pageSize = PageCursor.pageSize(size);
+        boolean posts = type == null || type.equals("posts");
+        boolean plans = type == null || type.equals("plans");
+        if (!posts && !plans) {
+            throw new BadRequestException("type must be 'posts' or 'plans'");
+        }
+
+        Pattern highlight = highlightPattern(query);
+        PageRequest pageRequest = PageRequest.of(pageNumber, pageSize);
+        return SearchResults.builder()
+                .query(query)
+                .page(pageNumber)
+                .size(pageSize)
+                .posts(posts ? searchPosts(query, pageRequest, highlight) : List.of())
+                .learningPlans(plans ? searchPlans(query, pageRequest, highlight) : List.of())
+                .build();
+    }
+
+    private List<SearchHit> searchPosts(String query, PageRequest pageRequest, Pattern highlight) {
+        Query textQuery = textQuery(query, pageRequest);
+        textQuery.fields().include("userId", "description");
+
+        return mongoTemplate.find(textQuery, Document.class, mongoTemplate.getCollectionName(Post.class))
+                .stream()
+                .map(post -> SearchHit.builder()
+                        .id(String.valueOf(post.get("_id")))
+                        .userId(post.getString("userId"))
+                        .snippet(snippet(post.getString("description"), highlight))
+                        .score(score(post))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<SearchHit> searchPlans(String query, PageRequest pageRequest, Pattern highlight) {
+        Query textQuery = textQuery(query, pageRequest);
+        textQuery.fields().include("userId", "learningPlanName", "learningPlanDescription", "topics.name");
+
+        return mongoTemplate.find(textQuery, Document.class, mongoTemplate.getCollectionName(LearningPlan.class))
+                .stream()
+                .map(plan -> {
+                    List<String> matchedTopics = new ArrayList<>();
+                    for (Document topic : plan.getList("topics", Document.class, List.of())) {
+                        String name = topic.getString("name");
+                        if (name != null && highlight.matcher(name).find()) {
+                            matchedTopics.add(mark(name, highlight));
+                        }
+                    }
+                    return SearchHit.builder()
+                            .id(String.valueOf(plan.get("_id")))
+                            .userId(plan.getString("userId"))
+                            .title(mark(plan.getString("learningPlanName"), highlight))
+                            .snippet(snippet(plan.getString("learningPlanDescription"), highlight))
+                            .matchedTopics(matchedTopics)
+                            .score(score(plan))
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Query textQuery(String query, PageRequest pageRequest) {
+        return TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(query))
+                .sortByScore()
+                .includeScore(SCORE)
+                .with(pageRequest);
+    }
+
+    private double score(Document document) {
+        Object score = document.get(SCORE);
+        return score instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    /**
+     * Matches words that start with a positive search term. The text index stems words,
+     * so "learning" also matches "learn"; dropping a common suffix ("learning" to "learn",
+     * "skills" to "skill") and matching the rest as a prefix approximates that well enough
+     * for highlighting. Negated terms ("-java") are never highlighted.
+     */
+    private Pattern highlightPattern(String query) {
+        List<String> terms = new ArrayList<>();
+        for (String token : query.replace("\"", " ").split("\\s+")) {
+            if (token.isEmpty() || token.startsWith("-")) {
+                continue;
+            }
+            String term = token.replaceAll("[^\\p{L}\\p{N}]", "");
+            if (!term.isEmpty()) {
+                terms.add(Pattern.quote(stem(term)));
+            }
+        }
+        if (terms.isEmpty()) {
+            return Pattern.compile("(?!)");
+        }
+        return Pattern.compile("\\b(?:" + String.join("|", terms) + ")[\\p{L}\\p{N}]*",
+                Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    // Only when a stem of at least MIN_STEM_LENGTH characters is left, so short words stay whole
+    private static String stem(String term) {
+        String lower = term.toLowerCase(Locale.ROOT);
+        for (String suffix : STEM_SUFFIXES) {
+            if (lower.endsWith(suffix) && term.length() - suffix.length() >= MIN_STEM_LENGTH) {
+                return term.substring(0, term.length() - suffix.length());
+            }
+        }
+        return term;
+    }
+
+    // An excerpt of at most SNIPPET_LENGTH characters that starts just before the first match
+    private String snippet(String text, Pattern highlight) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        Matcher matcher = highlight.matcher(text);
+        int start = matcher.find() ? Math.max(0, matcher.start() - SNIPPET_LEAD) : 0;
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        String excerpt = mark(text.substring(start, end), highlight);
+        return (start > 0 ? "…" : "") + excerpt + (end < text.length() ? "…" : "");
+    }
+
+    private String mark(String text, Pattern highlight) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder marked = new StringBuilder();
+        Matcher matcher = highlight.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            marked.append(HtmlUtils.htmlEscape(text.substring(last, matcher.start())))
+                    .append("<mark>")
+                    .append(HtmlUtils.htmlEscape(matcher.group()))
+                    .append("</mark>");
+            last = matcher.end();
+        }
+        return marked.append(HtmlUtils.htmlEscape(text.substring(last))).toString();
+    }
+}
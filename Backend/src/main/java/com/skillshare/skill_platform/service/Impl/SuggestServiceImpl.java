@@ -0,0 +1,136 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.skillshare.skill_platform.config.MetricsConfig;
+import com.skillshare.skill_platform.dto.Suggestion;
+import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.Topic;
+import com.skillshare.skill_platform.entity.UserProfile;
+import com.skillshare.skill_platform.exception.BadRequestException;
+import com.skillshare.skill_platform.service.SuggestService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Type-ahead over profile names, plan streams and topic names, answered from memory.
+ * The indexes are loaded once the application is ready (after the data migrations)
+ * and then follow profile and plan writes.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class SuggestServiceImpl implements SuggestService {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final PrefixIndex users = new PrefixIndex();
+    private final PrefixIndex streams = new PrefixIndex();
+    private final PrefixIndex topics = new PrefixIndex();
+
+    // Requests are already being served; profile and plan writes made meanwhile are kept
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        users.load(() -> countBy(UserProfile.class, "fullName"));
+        streams.load(() -> countBy(LearningPlan.class, "stream"));
+        topics.load(this::countTopicNames);
+        log.info("Suggestion indexes loaded: {} names, {} streams, {} topics",
+                users.size(), streams.size(), topics.size());
+    }
+
+    @Override
+    public List<Suggestion> suggest(String type, String prefix, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return index(type).suggest(prefix, size);
+    }
+
+    @Override
+    public void profileNameChanged(String oldName, String newName) {
+        users.replace(oldName, newName);
+    }
+
+    @Override
+    public void topicRenamed(String oldName, String newName) {
+        topics.replace(oldName, newName);
+    }
+
+    // Only names that differ between the two versions touch the indexes
+    @Override
+    public void planChanged(LearningPlan before, LearningPlan after) {
+        Map<String, Integer> streamDeltas = new HashMap<>(4);
+        Map<String, Integer> topicDeltas = new HashMap<>();
+        if (before != null) {
+            streamDeltas.merge(before.getStream(), -1, Integer::sum);
+            forEachTopicName(before, name -> topicDeltas.merge(name, -1, Integer::sum));
+        }
+        if (after != null) {
+            streamDeltas.merge(after.getStream(), 1, Integer::sum);
+            forEachTopicName(after, name -> topicDeltas.merge(name, 1, Integer::sum));
+        }
+        streams.update(streamDeltas);
+        topics.update(topicDeltas);
+    }
+
+    private PrefixIndex index(String type) {
+        if (type == null) {
+            throw new BadRequestException("type is required: users, streams or topics");
+        }
+        return switch (type) {
+            case "users" -> users;
+            case "streams" -> streams;
+            case "topics" -> topics;
+            default -> throw new BadRequestException("type must be users, streams or topics");
+        };
+    }
+
+    private static void forEachTopicName(LearningPlan plan, Consumer<String> action) {
+        if (plan.getTopics() != null) {
+            for (Topic topic : plan.getTopics()) {
+                action.accept(topic.getName());
+            }
+        }
+    }
+
+    private Map<String, Integer> countBy(Class<?> entity, String field) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(field).ne(null)),
+                Aggregation.group(field).count().as("count"));
+        return toWeights(mongoTemplate.aggregate(aggregation, entity, Document.class).getMappedResults());
+    }
+
+    private Map<String, Integer> countTopicNames() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.unwind("topics"),
+                Aggregation.match(Criteria.where("topics.name").ne(null)),
+                Aggregation.group("topics.name").count().as("count"));
+        return toWeights(mongoTemplate.aggregate(aggregation, LearningPlan.class, Document.class).getMappedResults());
+    }
+
+    private static Map<String, Integer> toWeights(List<Document> groups) {
+        Map<String, Integer> weights = new HashMap<>(groups.size() * 2);
+        for (Document group : groups) {
+            if (group.get("_id") instanceof String term) {
+                weights.merge(term, ((Number) group.get("count")).intValue(), Integer::sum);
+            }
+        }
+        return weights;
+    }
+}
@@ -1,19 +1,26 @@
 package com.skillshare.skill_platform.service.Impl;
 
+import com.skillshare.skill_platform.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.skillshare.skill_platform.config.CacheConfig;
 import com.skillshare.skill_platform.dto.UserDTO;
 import com.skillshare.skill_platform.dto.UserProfileDTO;
 import com.skillshare.skill_platform.entity.User;
 import com.skillshare.skill_platform.entity.UserProfile;
 import com.skillshare.skill_platform.repository.UserProfileRepository;
 import com.skillshare.skill_platform.repository.UserRepository;
+import com.skillshare.skill_platform.service.SuggestService;
 import com.skillshare.skill_platform.service.UserService;
 
 import java.util.UUID;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class UserServiceImpl implements UserService {
 
     @Autowired
@@ -21,6 +28,9 @@ public class UserServiceImpl implements UserService {
 
     @Autowired
     private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private SuggestService suggestService;
     
     @Override
     public User findOrCreateUserByEmail(String email) {
@@ -40,6 +50,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USER_PROFILES, key = "#userId")
     public UserProfileDTO createOrUpdateProfile(String userId, UserProfileDTO profileDTO) {
         UserProfile profile = userProfileRepository.findByUserId(userId);
         if (profile == null) {
@@ -47,6 +58,7 @@ public class UserServiceImpl implements UserService {
             profile.setId(UUID.randomUUID().toString());
             profile.setUserId(userId);
         }
+        String previousName = profile.getFullName();
         profile.setBio(profileDTO.getBio());
         profile.setProfilePictureUrl(profileDTO.getProfilePictureUrl());
         
@@ -55,6 +67,7 @@ public class UserServiceImpl implements UserService {
         }
         
         userProfileRepository.save(profile);
+        suggestService.profileNameChanged(previousName, profile.getFullName());
 
         User user = userRepository.findById(userId).orElse(null);
         if (user != null) {
@@ -68,10 +81,13 @@ public class UserServiceImpl implements UserService {
         result.setBio(profile.getBio());
         result.setProfilePictureUrl(profile.getProfilePictureUrl());
         result.setFullName(profile.getFullName());
+        result.setUpdatedAt(profile.getUpdatedAt());
         return result;
     }
 
+    // Cached DTOs are shared between callers and must not be modified
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_PROFILES, key = "#userId")
     public UserProfileDTO getProfile(String userId) {
         UserProfile profile = userProfileRepository.findByUserId(userId);
         if (profile == null) {
@@ -83,6 +99,7 @@ public class UserServiceImpl implements UserService {
         result.setBio(profile.getBio());
         result.setProfilePictureUrl(profile.getProfilePictureUrl());
         result.setFullName(profile.getFullName());
+        result.setUpdatedAt(profile.getUpdatedAt());
         return result;
     }
 }
\ No newline at end of file
@@ -1,19 +1,35 @@
 package com.skillshare.skill_platform.service;
 
+import com.skillshare.skill_platform.dto.CursorPage;
 import com.skillshare.skill_platform.dto.LearningPlanRQ;
 import com.skillshare.skill_platform.dto.LearningPlanResponse;
+import com.skillshare.skill_platform.dto.LearningPlanSummary;
+import com.skillshare.skill_platform.dto.LearningProgressResponse;
+import com.skillshare.skill_platform.dto.TopicRq;
 import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.Topic;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface LearningPlanService {
 
   LearningPlan create(LearningPlanRQ rq, String userId);
 
-  List<LearningPlanResponse> getAll();
+  CursorPage<LearningPlanSummary> getPage(String stream, Integer limit, String after);
+
+  LearningPlanResponse getPlan(String learningPlanId);
+
+  LocalDateTime getPlanLastModified(String learningPlanId);
+
+  String getUserPlansVersion(String userId);
 
   List<LearningPlanResponse> getById(String userId);
 
   LearningPlan updateById(String userId, LearningPlanRQ rq, String learningPlanId);
 
+  Topic updateTopic(String userId, String learningPlanId, int topicIndex, TopicRq rq);
+
+  LearningProgressResponse getProgress(String userId, Integer limit, String after);
+
   void delete(String userId, String learningPlanId);
 }
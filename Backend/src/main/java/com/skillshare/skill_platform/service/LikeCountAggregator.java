@@ -0,0 +1,8 @@
+package com.skillshare.skill_platform.service;
+
+public interface LikeCountAggregator {
+    boolean isEnabled();
+    void record(String postId, long delta);
+    long pendingDelta(String postId);
+    void flush();
+}
@@ -0,0 +1,12 @@
+package com.skillshare.skill_platform.service;
+
+import com.skillshare.skill_platform.entity.MediaAsset;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+
+public interface MediaAssetService {
+    MediaAsset acquire(MultipartFile file, String folderName);
+    MediaAsset acquire(File file, String contentType, String folderName);
+    void release(String hash);
+}
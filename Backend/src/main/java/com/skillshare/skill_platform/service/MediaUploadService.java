@@ -0,0 +1,12 @@
+package com.skillshare.skill_platform.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface MediaUploadService {
+
+    // A new empty file in the app's own staging directory, kept until the background upload finishes
+    Path createStagedFile() throws IOException;
+
+    void submit(String postId, Path file, String contentType);
+}
@@ -1,18 +1,28 @@
 package com.skillshare.skill_platform.service;
 
+import com.skillshare.skill_platform.dto.CursorPage;
 import com.skillshare.skill_platform.dto.PostRequest;
+import com.skillshare.skill_platform.dto.PostSummary;
+import com.skillshare.skill_platform.dto.PostVersion;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
 import java.util.Map;
 
 public interface PostService {
     public ResponseEntity<Map> createPost(PostRequest postRequest);
-    public ResponseEntity<Map> getPost(String postId);
-    ResponseEntity<Map> getAllPosts();
+    PostSummary getPostSummary(String postId, String viewerId);
+    String getPostVersion(String postId, String viewerId);
+    CursorPage<PostVersion> getPostVersions(Integer limit, String after);
+    ResponseEntity<Map> getMediaStatus(String postId);
+    CursorPage<PostSummary> getPostSummaries(Integer limit, String after, String viewerId);
+    List<PostSummary> getPostSummaries(List<String> postIds);
     public ResponseEntity<Map> updatePost(String postId, PostRequest postRequest);
     public ResponseEntity<Map> deletePost(String postId);
     ResponseEntity<Map> likePost(String postId, String userId);
     ResponseEntity<Map> unlikePost(String postId, String userId);
     ResponseEntity<Map> savePost(String postId, String userId);
     ResponseEntity<Map> unsavePost(String postId, String userId);
+    ResponseEntity<Map> getPostsByUser(String userId, Integer limit, String after);
+    CursorPage<PostSummary> getSavedPosts(String userId, Integer limit, String after);
 } 
\ No newline at end of file
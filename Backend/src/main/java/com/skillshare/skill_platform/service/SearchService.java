@@ -0,0 +1,7 @@
+package com.skillshare.skill_platform.service;
+
+import com.skillshare.skill_platform.dto.SearchResults;
+
+public interface SearchService {
+    SearchResults search(String query, String type, Integer page, Integer size);
+}
@@ -0,0 +1,17 @@
+package com.skillshare.skill_platform.service;
+
+import com.skillshare.skill_platform.dto.Suggestion;
+import com.skillshare.skill_platform.entity.LearningPlan;
+
+import java.util.List;
+
+public interface SuggestService {
+    List<Suggestion> suggest(String type, String prefix, Integer limit);
+
+    void profileNameChanged(String oldName, String newName);
+
+    void topicRenamed(String oldName, String newName);
+
+    // Either side may be null for a created or deleted plan
+    void planChanged(LearningPlan before, LearningPlan after);
+}
@@ -0,0 +1,204 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillshare.skill_platform.entity.IdempotencyRecord;
+import com.skillshare.skill_platform.exception.BadRequestException;
+import com.skillshare.skill_platform.exception.ConflictException;
+import com.skillshare.skill_platform.service.IdempotencyService;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceImplTest {
+
+    private static final List<?> REQUEST = List.of("user-1", "A post");
+
+    // The idempotency_keys collection, keyed by _id
+    private final Map<String, IdempotencyRecord> keys = new ConcurrentHashMap<>();
+    private IdempotencyServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            if (keys.putIfAbsent(record.getId(), copy(record)) != null) {
+                throw new DuplicateKeyException(record.getId());
+            }
+            return record;
+        });
+        when(mongoTemplate.findById(anyString(), eq(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> {
+                    IdempotencyRecord record = keys.get(invocation.<String>getArgument(0));
+                    return record == null ? null : copy(record);
+                });
+        doAnswer(invocation -> {
+            String id = String.valueOf(invocation.<Query>getArgument(0).getQueryObject().get("_id"));
+            Document set = (Document) invocation.<UpdateDefinition>getArgument(1).getUpdateObject().get("$set");
+            keys.computeIfPresent(id, (key, stored) -> {
+                IdempotencyRecord updated = copy(stored);
+                updated.setStatus((IdempotencyRecord.Status) set.get("status"));
+                updated.setResponseStatus((Integer) set.get("responseStatus"));
+                updated.setResponseBody((String) set.get("responseBody"));
+                return updated;
+            });
+            return null;
+        }).when(mongoTemplate).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(IdempotencyRecord.class));
+        doAnswer(invocation -> {
+            String id = String.valueOf(invocation.<Query>getArgument(0).getQueryObject().get("_id"));
+            keys.computeIfPresent(id, (key, stored) ->
+                    stored.getStatus() == IdempotencyRecord.Status.IN_PROGRESS ? null : stored);
+            return null;
+        }).when(mongoTemplate).remove(any(Query.class), eq(IdempotencyRecord.class));
+
+        service = new IdempotencyServiceImpl();
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "lockTimeoutMs", 600_000L);
+        ReflectionTestUtils.setField(service, "waitTimeoutMs", 5_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void aCompletedRequestIsReplayedWithoutRunningAgain() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+
+        ResponseEntity<?> first = execute("key-1", REQUEST, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", "post-1"));
+        }).get();
+        ResponseEntity<?> repeat = execute("key-1", REQUEST, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok().build();
+        }).get();
+
+        assertEquals(1, runs.get());
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, repeat.getStatusCode());
+        assertEquals("true", repeat.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("{\"id\":\"post-1\"}", repeat.getBody());
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsRejected() throws Exception {
+        execute("key-1", REQUEST, () -> ResponseEntity.ok().build()).get();
+
+        assertThrows(BadRequestException.class,
+                () -> execute("key-1", List.of("user-1", "Another post"), () -> ResponseEntity.ok().build()));
+    }
+
+    @Test
+    void aRepeatWhileTheFirstIsInProgressGetsTheFirstResponse() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(() ->
+                execute("key-1", REQUEST, () -> {
+                    started.countDown();
+                    await(finish);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", "post-1"));
+                }).join());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity<?>> repeat = execute("key-1", REQUEST, () -> {
+            throw new AssertionError("The repeat must not run the action");
+        });
+        assertFalse(repeat.isDone());
+
+        finish.countDown();
+        assertEquals(HttpStatus.CREATED, first.get(5, TimeUnit.SECONDS).getStatusCode());
+        ResponseEntity<?> replayed = repeat.get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.CREATED, replayed.getStatusCode());
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("{\"id\":\"post-1\"}", replayed.getBody());
+    }
+
+    @Test
+    void aRepeatIsToldToRetryWhenTheFirstFails() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() ->
+                assertThrows(IllegalStateException.class, () -> execute("key-1", REQUEST, () -> {
+                    started.countDown();
+                    await(finish);
+                    throw new IllegalStateException("Upload failed");
+                })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity<?>> repeat = execute("key-1", REQUEST, () -> ResponseEntity.ok().build());
+        finish.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> repeat.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ConflictException.class, failure.getCause());
+        // The key was released, so a retry runs the action
+        assertEquals(HttpStatus.OK, execute("key-1", REQUEST, () -> ResponseEntity.ok().build()).get().getStatusCode());
+    }
+
+    @Test
+    void serverErrorsAreNotRecorded() throws Exception {
+        execute("key-1", REQUEST, () -> ResponseEntity.internalServerError().build()).get();
+
+        assertTrue(keys.isEmpty());
+    }
+
+    private CompletableFuture<ResponseEntity<?>> execute(String key, List<?> requestParts,
+            Supplier<ResponseEntity<?>> action) {
+        return service.execute("post-upload", "user-1", key, requestParts, action);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static IdempotencyRecord copy(IdempotencyRecord record) {
+        IdempotencyRecord copy = new IdempotencyRecord();
+        copy.setId(record.getId());
+        copy.setStatus(record.getStatus());
+        copy.setFingerprint(record.getFingerprint());
+        copy.setLockedAt(record.getLockedAt());
+        copy.setResponseStatus(record.getResponseStatus());
+        copy.setResponseBody(record.getResponseBody());
+        copy.setCreatedAt(record.getCreatedAt());
+        return copy;
+    }
+}
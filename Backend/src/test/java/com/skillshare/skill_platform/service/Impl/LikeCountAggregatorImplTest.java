@@ -0,0 +1,112 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.skillshare.skill_platform.entity.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LikeCountAggregatorImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class)).thenReturn(bulk);
+    }
+
+    @Test
+    void deltasAreBufferedUntilAFlushWritesThemInOneBulk() {
+        LikeCountAggregatorImpl aggregator = new LikeCountAggregatorImpl(mongoTemplate, true, 100);
+
+        aggregator.record("a", 1);
+        aggregator.record("a", 1);
+        aggregator.record("a", 1);
+        aggregator.record("b", -1);
+
+        assertEquals(3, aggregator.pendingDelta("a"));
+        assertEquals(-1, aggregator.pendingDelta("b"));
+        assertEquals(0, aggregator.pendingDelta("c"));
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Post.class));
+
+        aggregator.flush();
+
+        assertEquals(List.of("a", "b"), updatedPostIds(2));
+        verify(bulk, times(1)).execute();
+        assertEquals(0, aggregator.pendingDelta("a"));
+        assertEquals(0, aggregator.pendingDelta("b"));
+    }
+
+    @Test
+    void deltasThatCancelOutAreNotWritten() {
+        LikeCountAggregatorImpl aggregator = new LikeCountAggregatorImpl(mongoTemplate, true, 100);
+
+        aggregator.record("a", 1);
+        aggregator.record("a", -1);
+        aggregator.flush();
+
+        verify(bulk, never()).updateOne(any(Query.class), any(UpdateDefinition.class));
+        verify(bulk, never()).execute();
+    }
+
+    @Test
+    void aFailedFlushQueuesItsDeltasForTheNextOne() {
+        LikeCountAggregatorImpl aggregator = new LikeCountAggregatorImpl(mongoTemplate, true, 100);
+        when(bulk.execute())
+                .thenThrow(new DataAccessResourceFailureException("Mongo is down"))
+                .thenReturn(null);
+
+        aggregator.record("a", 2);
+        aggregator.flush();
+
+        // Still counted on read, exactly once
+        assertEquals(2, aggregator.pendingDelta("a"));
+
+        aggregator.record("a", 1);
+        assertEquals(3, aggregator.pendingDelta("a"));
+        aggregator.flush();
+
+        verify(bulk, times(2)).execute();
+        assertEquals(0, aggregator.pendingDelta("a"));
+    }
+
+    @Test
+    void reachingMaxPendingPostsFlushesOnTheCallersThread() {
+        LikeCountAggregatorImpl aggregator = new LikeCountAggregatorImpl(mongoTemplate, true, 2);
+
+        aggregator.record("a", 1);
+        verify(bulk, never()).execute();
+
+        aggregator.record("b", 1);
+        verify(bulk, times(1)).execute();
+        assertEquals(0, aggregator.pendingDelta("a"));
+        assertEquals(0, aggregator.pendingDelta("b"));
+    }
+
+    private List<String> updatedPostIds(int updates) {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(bulk, times(updates)).updateOne(queries.capture(), any(UpdateDefinition.class));
+        return queries.getAllValues().stream()
+                .map(query -> String.valueOf(query.getQueryObject().get("id")))
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,181 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.mongodb.client.result.DeleteResult;
+import com.skillshare.skill_platform.entity.MediaAsset;
+import com.skillshare.skill_platform.service.CloudinaryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MediaAssetServiceImplTest {
+
+    // The media_assets collection, keyed by content hash
+    private final Map<String, MediaAsset> assets = new ConcurrentHashMap<>();
+    private final AtomicInteger uploads = new AtomicInteger();
+    private CloudinaryService cloudinaryService;
+    private MediaAssetServiceImpl service;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        cloudinaryService = mock(CloudinaryService.class);
+        when(cloudinaryService.uploadAsset(any(File.class), anyString(), anyString())).thenAnswer(invocation -> {
+            MediaAsset uploaded = new MediaAsset();
+            uploaded.setPublicId("public-" + uploads.incrementAndGet());
+            uploaded.setResourceType("image");
+            return uploaded;
+        });
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(MediaAsset.class))).thenAnswer(invocation -> {
+            Document filter = invocation.<Query>getArgument(0).getQueryObject();
+            Document increments = (Document) invocation.<UpdateDefinition>getArgument(1)
+                    .getUpdateObject().get("$inc");
+            MediaAsset[] result = new MediaAsset[1];
+            assets.computeIfPresent(String.valueOf(filter.get("id")), (hash, asset) -> {
+                if (filter.containsKey("refCount") && asset.getRefCount() <= 0) {
+                    return asset;
+                }
+                asset.setRefCount(asset.getRefCount() + ((Number) increments.get("refCount")).longValue());
+                result[0] = copy(asset);
+                return asset;
+            });
+            return result[0];
+        });
+        when(mongoTemplate.insert(any(MediaAsset.class))).thenAnswer(invocation -> {
+            MediaAsset asset = invocation.getArgument(0);
+            if (assets.putIfAbsent(asset.getId(), copy(asset)) != null) {
+                throw new DuplicateKeyException(asset.getId());
+            }
+            return asset;
+        });
+        when(mongoTemplate.remove(any(Query.class), eq(MediaAsset.class))).thenAnswer(invocation -> {
+            String hash = String.valueOf(invocation.<Query>getArgument(0).getQueryObject().get("id"));
+            MediaAsset asset = assets.get(hash);
+            boolean deleted = asset != null && asset.getRefCount() <= 0 && assets.remove(hash, asset);
+            return DeleteResult.acknowledged(deleted ? 1 : 0);
+        });
+
+        service = new MediaAssetServiceImpl();
+        ReflectionTestUtils.setField(service, "cloudinaryService", cloudinaryService);
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    @Test
+    void theSameContentIsUploadedOnceAndShared() throws IOException {
+        MediaAsset first = service.acquire(file("a.png", "same bytes"), "image/png", "posts");
+        MediaAsset second = service.acquire(file("b.png", "same bytes"), "image/png", "posts");
+        MediaAsset other = service.acquire(file("c.png", "other bytes"), "image/png", "posts");
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals("public-1", second.getPublicId());
+        assertEquals(2, assets.get(first.getId()).getRefCount());
+        assertNotEquals(first.getId(), other.getId());
+        verify(cloudinaryService, times(2)).uploadAsset(any(File.class), anyString(), anyString());
+    }
+
+    @Test
+    void theFileIsDestroyedOnlyWhenTheLastReferenceIsReleased() throws IOException {
+        MediaAsset first = service.acquire(file("a.png", "same bytes"), "image/png", "posts");
+        service.acquire(file("b.png", "same bytes"), "image/png", "posts");
+
+        service.release(first.getId());
+        assertEquals(1, assets.get(first.getId()).getRefCount());
+        verify(cloudinaryService, never()).destroy(anyString(), anyString());
+
+        service.release(first.getId());
+        assertTrue(assets.isEmpty());
+        verify(cloudinaryService, times(1)).destroy("public-1", "image");
+
+        // Gone from the registry, so the same content is uploaded again rather than revived
+        MediaAsset again = service.acquire(file("c.png", "same bytes"), "image/png", "posts");
+        assertEquals("public-2", again.getPublicId());
+        assertEquals(1, assets.get(again.getId()).getRefCount());
+    }
+
+    @Test
+    void releasingAnUnknownAssetDoesNothing() {
+        service.release(null);
+        service.release("no-such-hash");
+
+        verify(cloudinaryService, never()).destroy(anyString(), anyString());
+    }
+
+    @Test
+    void aConcurrentRegistrationWinsAndTheDuplicateUploadIsDestroyed() throws IOException {
+        // Another request registers the same content while this one is uploading
+        when(cloudinaryService.uploadAsset(any(File.class), anyString(), anyString())).thenAnswer(invocation -> {
+            MediaAsset winner = new MediaAsset();
+            winner.setId(sha256Of(invocation.getArgument(0)));
+            winner.setPublicId("public-winner");
+            winner.setResourceType("image");
+            winner.setRefCount(1);
+            assets.put(winner.getId(), winner);
+
+            MediaAsset uploaded = new MediaAsset();
+            uploaded.setPublicId("public-loser");
+            uploaded.setResourceType("image");
+            return uploaded;
+        });
+
+        MediaAsset acquired = service.acquire(file("a.png", "same bytes"), "image/png", "posts");
+
+        assertEquals("public-winner", acquired.getPublicId());
+        assertEquals(2, assets.get(acquired.getId()).getRefCount());
+        verify(cloudinaryService, times(1)).destroy("public-loser", "image");
+    }
+
+    private File file(String name, String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content).toFile();
+    }
+
+    private static String sha256Of(File file) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file.toPath())));
+    }
+
+    private static MediaAsset copy(MediaAsset asset) {
+        MediaAsset copy = new MediaAsset();
+        copy.setId(asset.getId());
+        copy.setUrl(asset.getUrl());
+        copy.setPublicId(asset.getPublicId());
+        copy.setResourceType(asset.getResourceType());
+        copy.setSize(asset.getSize());
+        copy.setRefCount(asset.getRefCount());
+        copy.setCreatedAt(asset.getCreatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,167 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import com.skillshare.skill_platform.dto.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PrefixIndexTest {
+
+    @Test
+    void suggestFindsTheWholePrefixRangeIgnoringCase() {
+        PrefixIndex index = new PrefixIndex();
+        index.reset(Map.of("Java", 1, "javascript", 1, "JAX-RS", 1, "Jakarta EE", 1, "Kotlin", 1, "Ja", 1));
+
+        assertEquals(List.of("Ja", "Jakarta EE", "Java", "javascript", "JAX-RS"), terms(index.suggest("ja", 10)));
+        assertEquals(List.of("Java", "javascript"), terms(index.suggest("JAVA", 10)));
+        assertEquals(List.of("Kotlin"), terms(index.suggest("k", 10)));
+        assertEquals(List.of(), terms(index.suggest("z", 10)));
+        assertEquals(List.of(), terms(index.suggest("A", 10)));
+        assertEquals(List.of(), terms(index.suggest("  ", 10)));
+    }
+
+    @Test
+    void suggestKeepsTheTopKByWeightWithTiesInTermOrder() {
+        PrefixIndex index = new PrefixIndex();
+        index.reset(Map.of("spring", 5, "spark", 9, "sql", 1, "scala", 5, "swift", 7, "rust", 100));
+
+        List<Suggestion> top = index.suggest("s", 3);
+
+        assertEquals(List.of("spark", "swift", "scala"), terms(top));
+        assertEquals(List.of(9, 7, 5), top.stream().map(Suggestion::getPopularity).toList());
+        assertEquals(List.of("spark", "swift", "scala", "spring", "sql"), terms(index.suggest("s", 50)));
+        assertEquals(List.of(), terms(index.suggest("s", 0)));
+    }
+
+    @Test
+    void resetMergesTermsThatDifferOnlyInCaseOrSpacing() {
+        PrefixIndex index = new PrefixIndex();
+        Map<String, Integer> weights = new HashMap<>();
+        weights.put("Machine Learning", 2);
+        weights.put("machine  learning ", 3);
+        weights.put("", 4);
+        weights.put("Deep Learning", 0);
+        index.reset(weights);
+
+        assertEquals(1, index.size());
+        assertEquals(5, index.suggest("MACHINE", 1).get(0).getPopularity());
+    }
+
+    @Test
+    void updateInsertsAdjustsAndRemovesInOnePass() {
+        PrefixIndex index = new PrefixIndex();
+        index.reset(Map.of("b", 2, "d", 1, "f", 3));
+
+        Map<String, Integer> deltas = new HashMap<>();
+        deltas.put("a", 1);
+        deltas.put("B", 1);
+        deltas.put("c", -1);
+        deltas.put("d", -1);
+        deltas.put("e", 2);
+        deltas.put("g", 1);
+        deltas.put("h", 1);
+        deltas.put("H", -1);
+        index.update(deltas);
+
+        assertEquals(5, index.size());
+        assertEquals(1, weight(index, "a"));
+        assertEquals(3, weight(index, "b"));
+        assertNull(find(index, "c"));
+        assertNull(find(index, "d"));
+        assertEquals(2, weight(index, "e"));
+        assertEquals(3, weight(index, "f"));
+        assertEquals(1, weight(index, "g"));
+        assertNull(find(index, "h"));
+    }
+
+    @Test
+    void replaceWithTheSameTermInAnotherCaseChangesNothing() {
+        PrefixIndex index = new PrefixIndex();
+        index.reset(Map.of("Docker", 2));
+
+        index.replace("Docker", "docker");
+        index.replace("Docker", "Kubernetes");
+
+        assertEquals(1, weight(index, "Docker"));
+        assertEquals(1, weight(index, "Kubernetes"));
+    }
+
+    @Test
+    void readersNeverSeeAPartlyAppliedUpdate() throws InterruptedException {
+        PrefixIndex index = new PrefixIndex();
+        Map<String, Integer> weights = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            weights.put("term-" + i, 1);
+        }
+        index.reset(weights);
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                // Each update swaps in a whole new snapshot: both extra terms or neither
+                int size = index.suggest("term-", 200).size();
+                if (size != 100 && size != 102) {
+                    failure.set("Read a partly updated index with " + size + " terms");
+                }
+            }
+        });
+        reader.start();
+        for (int round = 0; round < 2_000; round++) {
+            index.update(Map.of("term-extra-a", 1, "term-extra-b", 1));
+            index.update(Map.of("term-extra-a", -1, "term-extra-b", -1));
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(100, index.size());
+    }
+
+    @Test
+    void loadKeepsChangesMadeWhileTheSourceIsRead() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("Written before the load");
+
+        index.load(() -> {
+            index.add("Written during the load");
+            index.remove("Stored");
+            return Map.of("Stored", 2, "Written before the load", 1);
+        });
+
+        assertEquals(1, weight(index, "Written during the load"));
+        assertEquals(1, weight(index, "Stored"));
+        assertEquals(1, weight(index, "Written before the load"));
+
+        index.add("Written after the load");
+        assertEquals(1, weight(index, "Written after the load"));
+    }
+
+    private static List<String> terms(List<Suggestion> suggestions) {
+        List<String> terms = new ArrayList<>(suggestions.size());
+        for (Suggestion suggestion : suggestions) {
+            terms.add(suggestion.getText());
+        }
+        return terms;
+    }
+
+    private static Suggestion find(PrefixIndex index, String term) {
+        return index.suggest(term, 50).stream()
+                .filter(suggestion -> suggestion.getText().equalsIgnoreCase(term))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static int weight(PrefixIndex index, String term) {
+        Suggestion suggestion = find(index, term);
+        return suggestion == null ? 0 : suggestion.getPopularity();
+    }
+}
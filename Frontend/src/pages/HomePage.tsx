@@ -145,45 +145,48 @@ const HomePage = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [feedFilter, setFeedFilter] = useState<'all' | 'posts' | 'plans' | 'progress'>('all');
+  const [nextCursor, setNextCursor] = useState<string | undefined>(undefined);
+  const [loadingMore, setLoadingMore] = useState(false);
   
+  // Transform posts to include user info (TODO: Replace with real user data)
+  const toFeedPosts = (posts: Post[]): FeedPost[] => posts.map(post => ({
+    ...post,
+    type: 'post',
+    user: {
+      id: post.userId,
+      name: 'User ' + post.userId,
+      username: 'user' + post.userId,
+      profilePicture: 'https://via.placeholder.com/100'
+    }
+  }));
+
+  const sortByDate = (items: (FeedPost | LearningPlan | ProgressUpdate)[]) => [...items].sort((a, b) => {
+    // Get the date from either the date field (posts) or createdAt field (other content)
+    const getDate = (item: typeof a) => {
+      if ('date' in item) {
+        return new Date(item.date);
+      }
+      return new Date(item.createdAt);
+    };
+
+    return getDate(b).getTime() - getDate(a).getTime();
+  });
+
   const fetchFeed = async () => {
     try {
       setLoading(true);
       setError(null);
       
-      // Fetch real posts from the API
-      const posts = await postsApi.getAllPosts();
-      
-      // Transform posts to include user info (TODO: Replace with real user data)
-      const transformedPosts: FeedPost[] = posts.map(post => ({
-        ...post,
-        type: 'post',
-        user: {
-          id: post.userId,
-          name: 'User ' + post.userId,
-          username: 'user' + post.userId,
-          profilePicture: 'https://via.placeholder.com/100'
-        }
-      }));
+      // Fetch the first page of real posts from the API
+      const page = await postsApi.getAllPosts();
+      setNextCursor(page.nextCursor);
       
       // Combine with mock data for now
-      const allContent = [
-        ...transformedPosts,
+      setFeed(sortByDate([
+        ...toFeedPosts(page.posts),
         ...mockPlans,
         ...mockUpdates
-      ].sort((a, b) => {
-        // Get the date from either the date field (posts) or createdAt field (other content)
-        const getDate = (item: typeof a) => {
-          if ('date' in item) {
-            return new Date(item.date);
-          }
-          return new Date(item.createdAt);
-        };
-
-        return getDate(b).getTime() - getDate(a).getTime();
-      });
-      
-      setFeed(allContent);
+      ]));
     } catch (err) {
       console.error('Error fetching feed:', err);
       setError('Failed to load feed. Please try again later.');
@@ -192,6 +195,21 @@ const HomePage = () => {
     }
   };
 
+  const loadMorePosts = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const page = await postsApi.getAllPosts(nextCursor);
+      setNextCursor(page.nextCursor);
+      setFeed(prevFeed => sortByDate([...prevFeed, ...toFeedPosts(page.posts)]));
+    } catch (err) {
+      console.error('Error loading more posts:', err);
+      setError('Failed to load more posts. Please try again later.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handlePostDeleted = (postId: string) => {
     // Remove the deleted post from the feed
     setFeed(prevFeed => prevFeed.filter(item => 
@@ -326,6 +344,17 @@ const HomePage = () => {
                 return null;
             }
           })}
+          {nextCursor && (
+            <div className="flex justify-center">
+              <button
+                onClick={loadMorePosts}
+                disabled={loadingMore}
+                className="px-4 py-2 bg-indigo-600 text-white rounded-lg hover:bg-indigo-700 transition disabled:opacity-50"
+              >
+                {loadingMore ? 'Loading...' : 'Load More'}
+              </button>
+            </div>
+          )}
         </div>
       )}
     </div>
@@ -35,6 +35,12 @@ export interface Post {
     }>;
 }
 
+export interface PostPage {
+    posts: Post[];
+    // Present while older posts remain; pass it back as `after` to load them
+    nextCursor?: string;
+}
+
 const handleError = (error: any, customMessage: string) => {
     console.error(customMessage, error);
     if (error.response) {
@@ -48,15 +54,15 @@ const handleError = (error: any, customMessage: string) => {
 };
 
 const postsApi = {
-    // Get all posts
-    getAllPosts: async (): Promise<Post[]> => {
+    // Get one page of posts, newest first
+    getAllPosts: async (after?: string): Promise<PostPage> => {
         try {
-            const response = await axiosInstance.get('/posts');
-            const data = response.data as { posts?: Post[] };
+            const response = await axiosInstance.get('/posts', { params: { after } });
+            const data = response.data as { posts?: Post[]; nextCursor?: string };
             if (!data || !data.posts) {
-                return [];
+                return { posts: [] };
             }
-            return data.posts.map((post: any) => ({
+            const posts: Post[] = data.posts.map((post: any) => ({
                 id: post.id,
                 description: post.description,
                 url: post.url,
@@ -70,9 +76,10 @@ const postsApi = {
                     url: post.url
                 }] : []
             }));
+            return { posts, nextCursor: data.nextCursor };
         } catch (error) {
             handleError(error, 'Error fetching posts');
-            return [];
+            return { posts: [] };
         }
     },
 